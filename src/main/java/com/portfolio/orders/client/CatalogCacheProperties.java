@@ -0,0 +1,29 @@
+package com.portfolio.orders.client;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Local product cache settings. {@code ttl} is the upper bound on how long a price may be served after it
+ * changed in catalog-service when the invalidation event is lost or delayed.
+ */
+@ConfigurationProperties(prefix = "orders.catalog.cache")
+public record CatalogCacheProperties(
+    boolean enabled,
+    long maximumSize,
+    Duration ttl,
+    String invalidationTopic
+) {
+
+    public CatalogCacheProperties {
+        if (maximumSize <= 0) {
+            maximumSize = 10_000;
+        }
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            ttl = Duration.ofSeconds(60);
+        }
+        if (invalidationTopic == null || invalidationTopic.isBlank()) {
+            invalidationTopic = "catalog-product-events";
+        }
+    }
+}
@@ -3,13 +3,22 @@ package com.portfolio.orders.client;
 import com.portfolio.orders.exception.RemoteResourceNotFoundException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Component
@@ -17,15 +26,105 @@ public class CatalogClient {
 
     private static final Logger log = LoggerFactory.getLogger(CatalogClient.class);
     private static final String PRODUCT_NOT_FOUND_TEMPLATE = "Product %s not found";
+    private static final Set<Integer> BULK_UNSUPPORTED_STATUSES = Set.of(404, 405, 501);
+    private static final int FAN_OUT_CONCURRENCY = 8;
+    private static final Duration LOOKUP_TIMEOUT = Duration.ofSeconds(5);
 
     private final WebClient catalogWebClient;
+    private final CatalogProductCache productCache;
+    private final AtomicBoolean bulkLookupSupported = new AtomicBoolean(true);
 
-    public CatalogClient(@Qualifier("catalogWebClient") WebClient catalogWebClient) {
+    public CatalogClient(@Qualifier("catalogWebClient") WebClient catalogWebClient, CatalogProductCache productCache) {
         this.catalogWebClient = catalogWebClient;
+        this.productCache = productCache;
     }
 
     @CircuitBreaker(name = "catalog", fallbackMethod = "fetchProductFallback")
     public CatalogProduct fetchProduct(UUID productId) {
+        return productCache.get(productId).orElseGet(() -> {
+            CatalogProduct product = productRequest(productId)
+                .blockOptional()
+                .orElseThrow(() -> new RemoteResourceNotFoundException(PRODUCT_NOT_FOUND_TEMPLATE.formatted(productId)));
+            productCache.put(productId, product);
+            return product;
+        });
+    }
+
+    public CatalogProduct fetchProductFallback(UUID productId, Throwable t) {
+        log.error("Fallback: Failed to fetch product {} from catalog-service. Reason: {}", productId, t.getMessage());
+        // Fail fast or return a placeholder? For orders, valid price is critical.
+        // We throw a specific exception that can be handled by the controller advice or retry logic
+        throw new RuntimeException("Catalog service is unavailable. Please try again later.");
+    }
+
+    /**
+     * Resolves every distinct product of a basket with a single round trip to the bulk lookup endpoint.
+     * When catalog-service does not expose it, lookups fan out concurrently instead of one after another.
+     */
+    @CircuitBreaker(name = "catalog", fallbackMethod = "fetchProductsFallback")
+    public Map<UUID, CatalogProduct> fetchProducts(Collection<UUID> productIds) {
+        return productsLookup(productIds, true).block();
+    }
+
+    @CircuitBreaker(name = "catalog", fallbackMethod = "fetchProductsAsyncFallback")
+    public CompletableFuture<Map<UUID, CatalogProduct>> fetchProductsAsync(Collection<UUID> productIds) {
+        return productsLookup(productIds, true).toFuture();
+    }
+
+    /**
+     * Like {@link #fetchProductsAsync(Collection)} but leaves unknown products out of the result instead of failing,
+     * so bulk callers can reject only the orders that reference them.
+     */
+    @CircuitBreaker(name = "catalog", fallbackMethod = "fetchProductsAsyncFallback")
+    public CompletableFuture<Map<UUID, CatalogProduct>> findProductsAsync(Collection<UUID> productIds) {
+        return productsLookup(productIds, false).toFuture();
+    }
+
+    public Map<UUID, CatalogProduct> fetchProductsFallback(Collection<UUID> productIds, Throwable t) {
+        if (t instanceof RemoteResourceNotFoundException notFound) {
+            throw notFound;
+        }
+        log.error("Fallback: Failed to fetch {} products from catalog-service. Reason: {}", productIds.size(), t.getMessage());
+        throw new RuntimeException("Catalog service is unavailable. Please try again later.");
+    }
+
+    public CompletableFuture<Map<UUID, CatalogProduct>> fetchProductsAsyncFallback(Collection<UUID> productIds, Throwable t) {
+        try {
+            return CompletableFuture.completedFuture(fetchProductsFallback(productIds, t));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private Mono<Map<UUID, CatalogProduct>> productsLookup(Collection<UUID> productIds, boolean requireAll) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(productIds);
+        Map<UUID, CatalogProduct> cached = productCache.getAllPresent(distinctIds);
+        Set<UUID> missingIds = new LinkedHashSet<>(distinctIds);
+        missingIds.removeAll(cached.keySet());
+        if (missingIds.isEmpty()) {
+            return Mono.just(cached);
+        }
+        Mono<Map<UUID, CatalogProduct>> lookup = bulkLookupSupported.get()
+            ? bulkRequest(missingIds)
+            : fanOutRequest(missingIds);
+        return lookup
+            .defaultIfEmpty(Map.of())
+            .flatMap(fetched -> {
+                for (UUID productId : missingIds) {
+                    if (requireAll && !fetched.containsKey(productId)) {
+                        log.warn("Product {} not found in catalog-service", productId);
+                        return Mono.error(new RemoteResourceNotFoundException(PRODUCT_NOT_FOUND_TEMPLATE.formatted(productId)));
+                    }
+                }
+                productCache.putAll(fetched);
+                Map<UUID, CatalogProduct> products = new HashMap<>(cached);
+                products.putAll(fetched);
+                return Mono.just(products);
+            })
+            .timeout(LOOKUP_TIMEOUT);
+    }
+
+    private Mono<CatalogProduct> productRequest(UUID productId) {
         return catalogWebClient.get()
             .uri("/products/{id}", productId)
             .retrieve()
@@ -34,17 +133,42 @@ public class CatalogClient {
                 return Mono.error(new RemoteResourceNotFoundException(PRODUCT_NOT_FOUND_TEMPLATE.formatted(productId)));
             })
             .bodyToMono(CatalogProduct.class)
-            .blockOptional()
-            .orElseThrow(() -> new RemoteResourceNotFoundException(PRODUCT_NOT_FOUND_TEMPLATE.formatted(productId)));
+            .timeout(LOOKUP_TIMEOUT);
     }
 
-    public CatalogProduct fetchProductFallback(UUID productId, Throwable t) {
-        log.error("Fallback: Failed to fetch product {} from catalog-service. Reason: {}", productId, t.getMessage());
-        // Fail fast or return a placeholder? For orders, valid price is critical.
-        // We throw a specific exception that can be handled by the controller advice or retry logic
-        throw new RuntimeException("Catalog service is unavailable. Please try again later.");
+    private Mono<Map<UUID, CatalogProduct>> bulkRequest(Set<UUID> productIds) {
+        return catalogWebClient.post()
+            .uri("/products/batch")
+            .bodyValue(productIds)
+            .retrieve()
+            .onStatus(status -> BULK_UNSUPPORTED_STATUSES.contains(status.value()),
+                response -> Mono.error(new BulkLookupUnsupportedException()))
+            .bodyToFlux(CatalogProduct.class)
+            .filter(product -> product.id() != null)
+            .collectMap(CatalogProduct::id)
+            .onErrorResume(BulkLookupUnsupportedException.class, ex -> {
+                log.info("catalog-service has no bulk product lookup, falling back to concurrent fan-out");
+                bulkLookupSupported.set(false);
+                return fanOutRequest(productIds);
+            });
+    }
+
+    private Mono<Map<UUID, CatalogProduct>> fanOutRequest(Set<UUID> productIds) {
+        return Flux.fromIterable(productIds)
+            .flatMap(productId -> productRequest(productId)
+                    .map(product -> Map.entry(productId, product))
+                    .onErrorResume(RemoteResourceNotFoundException.class, ex -> Mono.empty()),
+                FAN_OUT_CONCURRENCY)
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue);
     }
 
     public record CatalogProduct(UUID id, String name, String sku, BigDecimal price, String currency) {
     }
+
+    private static final class BulkLookupUnsupportedException extends RuntimeException {
+
+        private BulkLookupUnsupportedException() {
+            super("Bulk product lookup is not supported by catalog-service", null, false, false);
+        }
+    }
 }
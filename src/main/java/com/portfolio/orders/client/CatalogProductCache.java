@@ -0,0 +1,62 @@
+package com.portfolio.orders.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CatalogProductCache {
+
+    private final boolean enabled;
+    private final Cache<UUID, CatalogClient.CatalogProduct> cache;
+
+    public CatalogProductCache(CatalogCacheProperties properties, MeterRegistry registry) {
+        this.enabled = properties.enabled();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.ttl())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "catalog-products");
+    }
+
+    public Optional<CatalogClient.CatalogProduct> get(UUID productId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(productId));
+    }
+
+    public Map<UUID, CatalogClient.CatalogProduct> getAllPresent(Collection<UUID> productIds) {
+        if (!enabled) {
+            return Map.of();
+        }
+        return cache.getAllPresent(productIds);
+    }
+
+    public void put(UUID productId, CatalogClient.CatalogProduct product) {
+        if (enabled) {
+            cache.put(productId, product);
+        }
+    }
+
+    public void putAll(Map<UUID, CatalogClient.CatalogProduct> products) {
+        if (enabled) {
+            cache.putAll(products);
+        }
+    }
+
+    public void invalidate(UUID productId) {
+        cache.invalidate(productId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
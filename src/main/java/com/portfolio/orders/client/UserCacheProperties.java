@@ -0,0 +1,35 @@
+package com.portfolio.orders.client;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * User profile cache settings. Profiles are served from cache for {@code ttl}, unknown users are remembered for
+ * {@code negativeTtl}, and with {@code staleOnError} the last known profile is kept for {@code staleTtl} so it can
+ * be served while users-service is failing.
+ */
+@ConfigurationProperties(prefix = "orders.users.cache")
+public record UserCacheProperties(
+    boolean enabled,
+    long maximumSize,
+    Duration ttl,
+    Duration negativeTtl,
+    boolean staleOnError,
+    Duration staleTtl
+) {
+
+    public UserCacheProperties {
+        if (maximumSize <= 0) {
+            maximumSize = 10_000;
+        }
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            ttl = Duration.ofMinutes(5);
+        }
+        if (negativeTtl == null || negativeTtl.isZero() || negativeTtl.isNegative()) {
+            negativeTtl = Duration.ofSeconds(30);
+        }
+        if (staleTtl == null || staleTtl.compareTo(ttl) < 0) {
+            staleTtl = Duration.ofHours(24);
+        }
+    }
+}
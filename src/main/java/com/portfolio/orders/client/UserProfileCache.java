@@ -0,0 +1,85 @@
+package com.portfolio.orders.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserProfileCache {
+
+    private final boolean enabled;
+    private final boolean staleOnError;
+    private final Cache<UUID, UsersClient.UserResponse> profiles;
+    private final Cache<UUID, UsersClient.UserResponse> lastKnownProfiles;
+    private final Cache<UUID, Boolean> missingUsers;
+    private final Counter staleServedCounter;
+
+    public UserProfileCache(UserCacheProperties properties, MeterRegistry registry) {
+        this.enabled = properties.enabled();
+        this.staleOnError = properties.staleOnError();
+        this.profiles = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.ttl())
+            .recordStats()
+            .build();
+        this.lastKnownProfiles = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.staleTtl())
+            .build();
+        this.missingUsers = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.negativeTtl())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(registry, profiles, "user-profiles");
+        CaffeineCacheMetrics.monitor(registry, missingUsers, "user-profiles-missing");
+        this.staleServedCounter = Counter.builder("orders_users_stale_profiles")
+            .description("User profiles served from the last known copy while users-service was failing")
+            .register(registry);
+    }
+
+    public Optional<UsersClient.UserResponse> get(UUID userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(profiles.getIfPresent(userId));
+    }
+
+    public boolean isKnownMissing(UUID userId) {
+        return enabled && missingUsers.getIfPresent(userId) != null;
+    }
+
+    public void put(UUID userId, UsersClient.UserResponse user) {
+        if (!enabled) {
+            return;
+        }
+        profiles.put(userId, user);
+        missingUsers.invalidate(userId);
+        if (staleOnError) {
+            lastKnownProfiles.put(userId, user);
+        }
+    }
+
+    public void putMissing(UUID userId) {
+        if (!enabled) {
+            return;
+        }
+        missingUsers.put(userId, Boolean.TRUE);
+        profiles.invalidate(userId);
+        lastKnownProfiles.invalidate(userId);
+    }
+
+    public Optional<UsersClient.UserResponse> getStale(UUID userId) {
+        if (!enabled || !staleOnError) {
+            return Optional.empty();
+        }
+        Optional<UsersClient.UserResponse> stale = Optional.ofNullable(lastKnownProfiles.getIfPresent(userId));
+        stale.ifPresent(user -> staleServedCounter.increment());
+        return stale;
+    }
+}
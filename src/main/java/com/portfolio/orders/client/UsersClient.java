@@ -2,7 +2,10 @@ package com.portfolio.orders.client;
 
 import com.portfolio.orders.exception.RemoteResourceNotFoundException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -16,11 +19,14 @@ public class UsersClient {
 
     private static final Logger log = LoggerFactory.getLogger(UsersClient.class);
     private static final String USER_NOT_FOUND_TEMPLATE = "User %s not found";
+    private static final Duration LOOKUP_TIMEOUT = Duration.ofSeconds(5);
 
     private final WebClient usersWebClient;
+    private final UserProfileCache userCache;
 
-    public UsersClient(@Qualifier("usersWebClient") WebClient usersWebClient) {
+    public UsersClient(@Qualifier("usersWebClient") WebClient usersWebClient, UserProfileCache userCache) {
         this.usersWebClient = usersWebClient;
+        this.userCache = userCache;
     }
 
     @CircuitBreaker(name = "users", fallbackMethod = "existsFallback")
@@ -47,21 +53,72 @@ public class UsersClient {
 
     @CircuitBreaker(name = "users", fallbackMethod = "fetchUserFallback")
     public UserResponse fetchUser(UUID userId) {
+        Optional<UserResponse> cached = userCache.get(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        if (userCache.isKnownMissing(userId)) {
+            throw new RemoteResourceNotFoundException(USER_NOT_FOUND_TEMPLATE.formatted(userId));
+        }
+        UserResponse user = userRequest(userId)
+            .blockOptional()
+            .orElseThrow(() -> new RemoteResourceNotFoundException(USER_NOT_FOUND_TEMPLATE.formatted(userId)));
+        userCache.put(userId, user);
+        return user;
+    }
+
+    public UserResponse fetchUserFallback(UUID userId, Throwable t) {
+        if (!(t instanceof RemoteResourceNotFoundException)) {
+            Optional<UserResponse> stale = userCache.getStale(userId);
+            if (stale.isPresent()) {
+                log.warn("Serving last known profile for user {} while users-service is failing: {}", userId, t.getMessage());
+                return stale.get();
+            }
+        }
+        log.error("Fallback: Failed to fetch user {} from users-service. Reason: {}", userId, t.getMessage());
+        throw new RuntimeException("Users service is unavailable. Please try again later.");
+    }
+
+    @CircuitBreaker(name = "users", fallbackMethod = "fetchUserAsyncFallback")
+    public CompletableFuture<UserResponse> fetchUserAsync(UUID userId) {
+        Optional<UserResponse> cached = userCache.get(userId);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        if (userCache.isKnownMissing(userId)) {
+            return CompletableFuture.failedFuture(
+                new RemoteResourceNotFoundException(USER_NOT_FOUND_TEMPLATE.formatted(userId)));
+        }
+        return userRequest(userId)
+            .switchIfEmpty(Mono.error(() -> new RemoteResourceNotFoundException(USER_NOT_FOUND_TEMPLATE.formatted(userId))))
+            .doOnNext(user -> userCache.put(userId, user))
+            .toFuture();
+    }
+
+    public CompletableFuture<UserResponse> fetchUserAsyncFallback(UUID userId, Throwable t) {
+        if (t instanceof RemoteResourceNotFoundException notFound) {
+            return CompletableFuture.failedFuture(notFound);
+        }
+        try {
+            return CompletableFuture.completedFuture(fetchUserFallback(userId, t));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private Mono<UserResponse> userRequest(UUID userId) {
         return usersWebClient.get()
             .uri("/users/{id}", userId)
             .retrieve()
             .onStatus(HttpStatusCode::is4xxClientError, response -> {
                 log.warn("User {} fetch failed with status {}", userId, response.statusCode());
+                if (response.statusCode().value() == 404) {
+                    userCache.putMissing(userId);
+                }
                 return Mono.error(new RemoteResourceNotFoundException(USER_NOT_FOUND_TEMPLATE.formatted(userId)));
             })
             .bodyToMono(UserResponse.class)
-            .blockOptional()
-            .orElseThrow(() -> new RemoteResourceNotFoundException(USER_NOT_FOUND_TEMPLATE.formatted(userId)));
-    }
-
-    public UserResponse fetchUserFallback(UUID userId, Throwable t) {
-        log.error("Fallback: Failed to fetch user {} from users-service. Reason: {}", userId, t.getMessage());
-        throw new RuntimeException("Users service is unavailable. Please try again later.");
+            .timeout(LOOKUP_TIMEOUT);
     }
 
     public record UserExistsResponse(boolean exists) {
@@ -0,0 +1,108 @@
+package com.portfolio.orders.config;
+
+import com.portfolio.orders.events.PaymentResultConsumerProperties;
+import com.portfolio.orders.exception.ConflictException;
+import com.portfolio.orders.exception.ResourceNotFoundException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaRetryTopic;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.util.backoff.FixedBackOff;
+
+@Configuration
+@EnableKafkaRetryTopic
+public class PaymentConsumerConfig {
+
+    /**
+     * Batch container for payment results. Offsets are committed only after the listener returns, i.e. after the
+     * batch was applied or parked on the recovery topic. Only a failure to park reaches the error handler, which then
+     * keeps redelivering the poll rather than skipping it.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> paymentResultBatchContainerFactory(
+        ConsumerFactory<?, ?> consumerFactory,
+        PaymentResultConsumerProperties properties
+    ) {
+        Map<String, Object> config = new HashMap<>(consumerFactory.getConfigurationProperties());
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, properties.batchSize());
+        config.put(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG, (int) properties.maxPollInterval().toMillis());
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(config));
+        factory.setBatchListener(true);
+        factory.setConcurrency(properties.concurrency());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(1000L, FixedBackOff.UNLIMITED_ATTEMPTS)));
+        return factory;
+    }
+
+    /**
+     * Record container for the recovery topic and its delay topics. Values stay raw bytes so the retry machinery can
+     * forward them with the shared byte-array producer.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> paymentResultRecoveryContainerFactory(
+        ConsumerFactory<?, ?> consumerFactory
+    ) {
+        Map<String, Object> config = new HashMap<>(consumerFactory.getConfigurationProperties());
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(config));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
+        return factory;
+    }
+
+    /**
+     * Non-blocking retries for parked payment results: {@code <recovery>-retry-0..n} with exponential delays, then
+     * {@code <recovery>-dlt}. Unknown orders and impossible transitions skip straight to the dead-letter topic.
+     */
+    @Bean
+    public RetryTopicConfiguration paymentResultRetryTopics(
+        KafkaTemplate<String, byte[]> kafkaTemplate,
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> paymentResultRecoveryContainerFactory,
+        PaymentResultConsumerProperties properties
+    ) {
+        PaymentResultConsumerProperties.Retry retry = properties.retry();
+        return RetryTopicConfigurationBuilder.newInstance()
+            .includeTopic(retry.topic())
+            .maxAttempts(retry.attempts())
+            .exponentialBackoff(retry.initialDelay().toMillis(), retry.multiplier(), retry.maxDelay().toMillis())
+            .retryTopicSuffix("-retry")
+            .dltSuffix("-dlt")
+            .suffixTopicsWithIndexValues()
+            .autoCreateTopicsWith(retry.partitions(), (short) -1)
+            .notRetryOn(List.of(ResourceNotFoundException.class, ConflictException.class))
+            .traversingCauses()
+            .dltHandlerMethod("paymentResultRecoveryListener", "handleDeadLetter")
+            .listenerFactory(paymentResultRecoveryContainerFactory)
+            .create(kafkaTemplate);
+    }
+
+    @Bean
+    public NewTopic paymentResultRecoveryTopic(PaymentResultConsumerProperties properties) {
+        return TopicBuilder.name(properties.retry().topic())
+            .partitions(properties.retry().partitions())
+            .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.portfolio.orders.config;
+
+import com.portfolio.orders.security.SecurityFacade;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Replaces the auto-configured datasource with primary/replica routing when
+ * {@code orders.datasource.replicas.enabled=true}. The primary pool keeps using {@code spring.datasource.*}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "orders.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+        DataSourceProperties dataSourceProperties,
+        ReplicaRoutingProperties properties,
+        Environment environment,
+        SecurityFacade securityFacade,
+        MeterRegistry registry
+    ) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(registry);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("orders-primary");
+        primary.setMetricsTrackerFactory(metrics);
+
+        List<ReplicaPool> replicas = properties.pools().stream()
+            .map(pool -> new ReplicaPool(pool.name(), replicaDataSource(pool, primary, metrics)))
+            .toList();
+        return new ReadReplicaRoutingDataSource(primary, replicas, properties.readYourWritesWindow(), securityFacade,
+            registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadReplicaRoutingDataSource routingDataSource, ReplicaRoutingProperties properties) {
+        return new ReplicaLagMonitor(routingDataSource, properties);
+    }
+
+    private static HikariDataSource replicaDataSource(
+        ReplicaRoutingProperties.Pool pool,
+        HikariDataSource primary,
+        MicrometerMetricsTrackerFactory metrics
+    ) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("orders-replica-" + pool.name());
+        replica.setJdbcUrl(pool.url());
+        replica.setUsername(pool.username() != null ? pool.username() : primary.getUsername());
+        replica.setPassword(pool.password() != null ? pool.password() : primary.getPassword());
+        replica.setMaximumPoolSize(pool.maximumPoolSize());
+        replica.setConnectionInitSql(primary.getConnectionInitSql());
+        replica.setReadOnly(true);
+        replica.setMetricsTrackerFactory(metrics);
+        return replica;
+    }
+
+    public static class ReplicaLagMonitor {
+
+        private final ReadReplicaRoutingDataSource routingDataSource;
+        private final ReplicaRoutingProperties properties;
+
+        ReplicaLagMonitor(ReadReplicaRoutingDataSource routingDataSource, ReplicaRoutingProperties properties) {
+            this.routingDataSource = routingDataSource;
+            this.properties = properties;
+        }
+
+        @Scheduled(fixedDelayString = "${orders.datasource.replicas.lag-check-interval:10s}")
+        public void refreshReplicaLag() {
+            routingDataSource.replicas().forEach(replica -> replica.refreshLag(properties.maxLag()));
+        }
+    }
+}
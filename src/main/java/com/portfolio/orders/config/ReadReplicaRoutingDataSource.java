@@ -0,0 +1,122 @@
+package com.portfolio.orders.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.orders.security.SecurityFacade;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to a healthy replica (round robin) and everything else to the primary. Users that
+ * just wrote stay on the primary for a short window so they read their own orders back. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the route is chosen once the
+ * transaction's read-only flag is known.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final List<ReplicaPool> replicas;
+    private final SecurityFacade securityFacade;
+    private final Cache<UUID, Boolean> recentWriters;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Counter> routeCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    public ReadReplicaRoutingDataSource(
+        DataSource primary,
+        List<ReplicaPool> replicas,
+        Duration readYourWritesWindow,
+        SecurityFacade securityFacade,
+        MeterRegistry registry
+    ) {
+        this.replicas = List.copyOf(replicas);
+        this.securityFacade = securityFacade;
+        this.registry = registry;
+        this.recentWriters = Caffeine.newBuilder()
+            .expireAfterWrite(readYourWritesWindow)
+            .maximumSize(100_000)
+            .build();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaPool replica : this.replicas) {
+            targets.put(replica.name(), replica.dataSource());
+            Gauge.builder("orders_datasource_replica_lag_seconds", replica, ReplicaPool::lagSeconds)
+                .tag("pool", replica.name())
+                .description("Replication lag observed at the last check")
+                .register(registry);
+            Gauge.builder("orders_datasource_replica_healthy", replica, pool -> pool.isHealthy() ? 1 : 0)
+                .tag("pool", replica.name())
+                .description("Whether the replica is currently in read rotation")
+                .register(registry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public List<ReplicaPool> replicas() {
+        return replicas;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource pool : getResolvedDataSources().values()) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        UUID currentUser = securityFacade.getCurrentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (currentUser != null) {
+                recentWriters.put(currentUser, Boolean.TRUE);
+            }
+            return route(PRIMARY, "write");
+        }
+        if (currentUser != null && recentWriters.getIfPresent(currentUser) != null) {
+            return route(PRIMARY, "read_your_writes");
+        }
+        ReplicaPool replica = nextHealthyReplica();
+        if (replica == null) {
+            return route(PRIMARY, "replicas_unavailable");
+        }
+        return route(replica.name(), "read");
+    }
+
+    private ReplicaPool nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReplicaPool candidate = replicas.get((start + i) % size);
+            if (candidate.isHealthy()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private String route(String pool, String reason) {
+        routeCounters.computeIfAbsent(pool + ':' + reason, key -> Counter.builder("orders_datasource_routing")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .description("Connections routed per pool and routing decision")
+                .register(registry))
+            .increment();
+        return pool;
+    }
+}
@@ -0,0 +1,75 @@
+package com.portfolio.orders.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One read replica connection pool plus its last observed replication lag. A replica that lags more than the
+ * allowed maximum, has replication stopped, or cannot be reached is taken out of rotation until the next check.
+ */
+public class ReplicaPool {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPool.class);
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy = true;
+    private volatile double lagSeconds;
+
+    public ReplicaPool(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public double lagSeconds() {
+        return lagSeconds;
+    }
+
+    public void refreshLag(Duration maxLag) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!status.next()) {
+                // Not configured as a replica (e.g. local setups pointing at the primary): nothing to lag behind.
+                update(0, true);
+                return;
+            }
+            long behind = status.getLong("Seconds_Behind_Source");
+            if (status.wasNull()) {
+                log.warn("Replica {} reports no replication lag, replication is probably stopped", name);
+                update(Double.NaN, false);
+                return;
+            }
+            update(behind, behind <= maxLag.toSeconds());
+        } catch (SQLException ex) {
+            log.warn("Replica {} lag check failed: {}", name, ex.getMessage());
+            update(Double.NaN, false);
+        }
+    }
+
+    private void update(double lag, boolean withinLimit) {
+        if (healthy != withinLimit) {
+            log.info("Replica {} {} rotation (lag {}s)", name, withinLimit ? "back in" : "taken out of", lag);
+        }
+        lagSeconds = lag;
+        healthy = withinLimit;
+    }
+}
@@ -0,0 +1,37 @@
+package com.portfolio.orders.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "orders.datasource.replicas")
+public record ReplicaRoutingProperties(
+    boolean enabled,
+    List<Pool> pools,
+    Duration maxLag,
+    Duration lagCheckInterval,
+    Duration readYourWritesWindow
+) {
+
+    public ReplicaRoutingProperties {
+        pools = pools == null ? List.of() : List.copyOf(pools);
+        if (maxLag == null) {
+            maxLag = Duration.ofSeconds(5);
+        }
+        if (lagCheckInterval == null) {
+            lagCheckInterval = Duration.ofSeconds(10);
+        }
+        if (readYourWritesWindow == null) {
+            readYourWritesWindow = Duration.ofSeconds(10);
+        }
+    }
+
+    public record Pool(String name, String url, String username, String password, int maximumPoolSize) {
+
+        public Pool {
+            if (maximumPoolSize <= 0) {
+                maximumPoolSize = 10;
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.portfolio.orders.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
@@ -9,6 +10,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 public class SchedulerConfig {
 
     @Bean
+    @Primary
     public TaskScheduler taskScheduler() {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
         scheduler.setPoolSize(2);
@@ -16,4 +18,17 @@ public class SchedulerConfig {
         scheduler.initialize();
         return scheduler;
     }
+
+    /**
+     * A thread of its own for the outbox relay: it polls every few hundred milliseconds and may wait on a broker for
+     * the send timeout, which on the shared pool would delay the replica check and the nightly jobs.
+     */
+    @Bean
+    public TaskScheduler outboxRelayScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("orders-outbox-relay-");
+        scheduler.initialize();
+        return scheduler;
+    }
 }
@@ -0,0 +1,128 @@
+package com.portfolio.orders.controller;
+
+import com.portfolio.orders.entity.OrderStatus;
+import com.portfolio.orders.export.OrderExportFormat;
+import com.portfolio.orders.export.OrderExportQuery;
+import com.portfolio.orders.export.OrderExportService;
+import com.portfolio.orders.generated.api.OrderExportApi;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Bulk export for finance. Writes straight to the servlet output stream so the response is never buffered, and
+ * gzips it when the client accepts that encoding.
+ */
+@RestController
+@RequiredArgsConstructor
+public class OrderExportController implements OrderExportApi {
+
+    private final OrderExportService exportService;
+
+    /**
+     * Streams the export into the servlet response and returns {@code null}, which tells Spring MVC the response is
+     * already written.
+     */
+    @Override
+    @PreAuthorize("hasAnyAuthority('ROLE_orders-admin','ROLE_catalog_admin','ROLE_portfolio_admin','ROLE_admin')")
+    public ResponseEntity<Resource> exportOrders(
+        String format,
+        OffsetDateTime from,
+        OffsetDateTime to,
+        com.portfolio.orders.generated.model.OrderStatus status,
+        Boolean includeItems
+    ) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        HttpServletRequest request = attributes.getRequest();
+        HttpServletResponse response = attributes.getResponse();
+        OrderExportFormat exportFormat = format != null
+            ? OrderExportFormat.fromValue(format)
+            : negotiateFormat(request.getHeader(HttpHeaders.ACCEPT));
+        OrderExportQuery query = new OrderExportQuery(
+            from != null ? from.toInstant() : null,
+            to != null ? to.toInstant() : null,
+            status != null ? OrderStatus.valueOf(status.getValue()) : null,
+            Boolean.TRUE.equals(includeItems)
+        );
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("orders-export." + exportFormat.extension())
+            .build()
+            .toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        try {
+            OutputStream body = response.getOutputStream();
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(body, 8192, true);
+                exportService.export(query, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                exportService.export(query, exportFormat, body);
+            }
+            body.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return null;
+    }
+
+    /**
+     * Picks the format the client prefers most. The mapping only produces the export formats, so anything that gets
+     * here without a specific preference, such as a wildcard, falls back to NDJSON.
+     */
+    private static OrderExportFormat negotiateFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return OrderExportFormat.NDJSON;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) {
+                continue;
+            }
+            for (OrderExportFormat candidate : OrderExportFormat.values()) {
+                if (mediaType.isCompatibleWith(MediaType.parseMediaType(candidate.contentType()))) {
+                    return candidate;
+                }
+            }
+        }
+        return OrderExportFormat.NDJSON;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").equals("q=0");
+            }
+        }
+        return false;
+    }
+}
@@ -2,18 +2,22 @@ package com.portfolio.orders.controller;
 
 import com.portfolio.orders.generated.api.OrdersApi;
 import com.portfolio.orders.generated.model.CreateOrderRequest;
+import com.portfolio.orders.generated.model.CreateOrdersBatchRequest;
 import com.portfolio.orders.generated.model.Order;
+import com.portfolio.orders.generated.model.OrderBatchResult;
 import com.portfolio.orders.generated.model.OrderPage;
 import com.portfolio.orders.generated.model.OrderStatus;
 import com.portfolio.orders.generated.model.OrderStatusRequest;
+import com.portfolio.orders.generated.model.OrderStatusSummary;
+import com.portfolio.orders.generated.model.PaymentDeadLetterReplayResult;
 import com.portfolio.orders.generated.model.UpdateOrderRequest;
 import com.portfolio.orders.service.OrderService;
+import com.portfolio.orders.service.PaymentDeadLetterService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -21,6 +25,7 @@ import java.util.UUID;
 public class OrdersController implements OrdersApi {
 
     private final OrderService orderService;
+    private final PaymentDeadLetterService paymentDeadLetterService;
 
     @Override
     @PreAuthorize("hasAnyAuthority('SCOPE_orders.write','ROLE_orders_write','ROLE_orders-admin','ROLE_catalog_admin','ROLE_portfolio_admin')")
@@ -28,10 +33,19 @@ public class OrdersController implements OrdersApi {
         return ResponseEntity.status(201).body(orderService.createOrder(createOrderRequest));
     }
 
+    @Override
+    @PreAuthorize("hasAnyAuthority('SCOPE_orders.write','ROLE_orders_write','ROLE_orders-admin','ROLE_catalog_admin','ROLE_portfolio_admin')")
+    public ResponseEntity<OrderBatchResult> createOrdersBatch(CreateOrdersBatchRequest createOrdersBatchRequest) {
+        return ResponseEntity.ok(orderService.createOrders(createOrdersBatchRequest.getOrders()));
+    }
+
     @Override
     @PreAuthorize("hasAnyAuthority('SCOPE_orders.read','ROLE_orders_read','ROLE_orders-admin','ROLE_catalog_admin','ROLE_portfolio_admin')")
-    public ResponseEntity<OrderPage> listOrders(Integer page, Integer size, OrderStatus status) {
+    public ResponseEntity<OrderPage> listOrders(Integer page, Integer size, OrderStatus status, String pagination, String cursor) {
         String statusValue = status != null ? status.getValue() : null;
+        if (cursor != null || "cursor".equals(pagination)) {
+            return ResponseEntity.ok(orderService.scrollOrders(size, statusValue, cursor));
+        }
         return ResponseEntity.ok(orderService.listOrders(page, size, statusValue));
     }
 
@@ -41,6 +55,18 @@ public class OrdersController implements OrdersApi {
         return ResponseEntity.ok(orderService.getOrder(id));
     }
 
+    @Override
+    @PreAuthorize("hasAnyAuthority('ROLE_orders-admin','ROLE_catalog_admin','ROLE_portfolio_admin','ROLE_admin')")
+    public ResponseEntity<OrderStatusSummary> getOrderStatusSummary() {
+        return ResponseEntity.ok(orderService.getStatusSummary());
+    }
+
+    @Override
+    @PreAuthorize("hasAnyAuthority('ROLE_orders-admin','ROLE_catalog_admin','ROLE_portfolio_admin','ROLE_admin')")
+    public ResponseEntity<PaymentDeadLetterReplayResult> replayPaymentDeadLetters(Integer limit) {
+        return ResponseEntity.ok(paymentDeadLetterService.replay(limit));
+    }
+
     @Override
     @PreAuthorize("hasAnyAuthority('ROLE_orders-admin','ROLE_catalog_admin','ROLE_portfolio_admin','ROLE_admin')")
     public ResponseEntity<Order> updateOrder(UUID id, UpdateOrderRequest updateOrderRequest) {
@@ -62,7 +88,8 @@ public class OrdersController implements OrdersApi {
 
     @Override
     @PreAuthorize("hasAnyAuthority('SCOPE_orders.read','ROLE_orders_read','ROLE_orders-admin','ROLE_catalog_admin','ROLE_portfolio_admin')")
-    public ResponseEntity<List<Order>> listOrdersByUser(UUID userId) {
-        return ResponseEntity.ok(orderService.listOrdersByUser(userId));
+    public ResponseEntity<OrderPage> listOrdersByUser(UUID userId, Integer page, Integer size, OrderStatus status) {
+        String statusValue = status != null ? status.getValue() : null;
+        return ResponseEntity.ok(orderService.listOrdersByUser(userId, page, size, statusValue));
     }
 }
@@ -6,7 +6,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -22,7 +21,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 @Table(name = "orders")
@@ -34,8 +33,7 @@ import org.hibernate.annotations.UuidGenerator;
 public class OrderEntity {
 
     @Id
-    @GeneratedValue
-    @UuidGenerator
+    @TimeOrderedUuid
     @Column(name = "id", nullable = false, updatable = false, columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -52,6 +50,10 @@ public class OrderEntity {
     @Column(name = "status", nullable = false, length = 16)
     private OrderStatus status;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status", length = 16)
+    private OrderStatus previousStatus;
+
     @Column(name = "currency", nullable = false, length = 3)
     private String currency;
 
@@ -68,7 +70,8 @@ public class OrderEntity {
     private OffsetDateTime updatedAt;
 
     @Builder.Default
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<OrderItemEntity> items = new ArrayList<>();
 
     @Version
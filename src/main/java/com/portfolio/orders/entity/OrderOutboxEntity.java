@@ -0,0 +1,72 @@
+package com.portfolio.orders.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * A broker message recorded in the same transaction as the order change it announces, published later by the
+ * outbox relay. Time-ordered ids let the relay drain the table roughly in commit order.
+ */
+@Entity
+@Table(name = "order_outbox")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class OrderOutboxEntity {
+
+    @Id
+    @TimeOrderedUuid
+    @Column(name = "id", nullable = false, updatable = false, columnDefinition = "BINARY(16)")
+    private UUID id;
+
+    @Column(name = "aggregate_id", nullable = false, columnDefinition = "BINARY(16)")
+    private UUID aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "destination", nullable = false, length = 16)
+    private OutboxDestination destination;
+
+    /** Record key on Kafka, routing key on RabbitMQ. */
+    @Column(name = "message_key", nullable = false, length = 160)
+    private String messageKey;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    @Column(name = "payload", nullable = false)
+    private byte[] payload;
+
+    @Column(name = "content_type", nullable = false, length = 80)
+    private String contentType;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    /** Not relayed before this time, so a newer message for the same order can still replace it. */
+    @Column(name = "hold_until")
+    private OffsetDateTime holdUntil;
+
+    /** Claimed by a relay, or backing off after a failed attempt, until this time. */
+    @Column(name = "next_attempt_at")
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "sent_at")
+    private OffsetDateTime sentAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+}
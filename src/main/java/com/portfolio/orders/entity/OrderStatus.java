@@ -1,9 +1,42 @@
 package com.portfolio.orders.entity;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     CONFIRMED,
     SHIPPED,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    private static final Map<OrderStatus, Set<OrderStatus>> PREDECESSORS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        PREDECESSORS.put(PENDING, EnumSet.noneOf(OrderStatus.class));
+        PREDECESSORS.put(CONFIRMED, EnumSet.of(PENDING));
+        PREDECESSORS.put(SHIPPED, EnumSet.of(CONFIRMED));
+        PREDECESSORS.put(DELIVERED, EnumSet.of(SHIPPED));
+        PREDECESSORS.put(CANCELLED, EnumSet.of(PENDING, CONFIRMED));
+    }
+
+    /**
+     * Statuses an order may move to this one from. PENDING is only ever set on creation.
+     */
+    public Set<OrderStatus> predecessors() {
+        return PREDECESSORS.get(this);
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return target.predecessors().contains(this);
+    }
+
+    /**
+     * True for DELIVERED and CANCELLED, the statuses no transition leaves.
+     */
+    public boolean isTerminal() {
+        return PREDECESSORS.values().stream().noneMatch(predecessors -> predecessors.contains(this));
+    }
 }
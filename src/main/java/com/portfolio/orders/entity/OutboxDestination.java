@@ -0,0 +1,6 @@
+package com.portfolio.orders.entity;
+
+public enum OutboxDestination {
+    KAFKA,
+    RABBITMQ
+}
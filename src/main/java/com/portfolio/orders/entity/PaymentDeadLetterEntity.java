@@ -0,0 +1,57 @@
+package com.portfolio.orders.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * A payment result that exhausted its retries, kept with the last error until an administrator replays it.
+ */
+@Entity
+@Table(name = "payment_dead_letters")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PaymentDeadLetterEntity {
+
+    @Id
+    @TimeOrderedUuid
+    @Column(name = "id", nullable = false, updatable = false, columnDefinition = "BINARY(16)")
+    private UUID id;
+
+    /** Null when the payload could not be read. */
+    @Column(name = "order_id", columnDefinition = "BINARY(16)")
+    private UUID orderId;
+
+    @Column(name = "message_key", length = 160)
+    private String messageKey;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "source_topic", nullable = false, length = 249)
+    private String sourceTopic;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "failed_at", nullable = false)
+    private OffsetDateTime failedAt;
+
+    @Column(name = "replayed_at")
+    private OffsetDateTime replayedAt;
+}
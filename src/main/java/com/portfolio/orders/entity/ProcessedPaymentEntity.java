@@ -0,0 +1,44 @@
+package com.portfolio.orders.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A payment whose result has been applied. Rows are only ever inserted and purged, so the entity always reports
+ * itself as new and {@code save} persists it without first selecting by id.
+ */
+@Entity
+@Table(name = "processed_payments")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedPaymentEntity implements Persistable<String> {
+
+    @Id
+    @Column(name = "payment_id", nullable = false, updatable = false, length = 100)
+    private String paymentId;
+
+    @Column(name = "order_id", nullable = false, updatable = false, columnDefinition = "BINARY(16)")
+    private UUID orderId;
+
+    @Column(name = "processed_at", nullable = false, updatable = false)
+    private OffsetDateTime processedAt;
+
+    @Override
+    public String getId() {
+        return paymentId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
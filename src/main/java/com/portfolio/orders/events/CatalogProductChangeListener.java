@@ -0,0 +1,44 @@
+package com.portfolio.orders.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.orders.client.CatalogProductCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached catalog products as soon as catalog-service announces a change. Every instance keeps its own
+ * cache, so each one joins the topic with its own consumer group, named after {@code orders.catalog.cache.instance-id}
+ * (the host or pod name by default) so that a restart reuses the group instead of leaving a stale one on the broker.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogProductChangeListener {
+
+    private final CatalogProductCache productCache;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+        topics = "${orders.catalog.cache.invalidation-topic:catalog-product-events}",
+        groupId = "orders-catalog-cache-${orders.catalog.cache.instance-id:${HOSTNAME:orders-service}}",
+        autoStartup = "${orders.catalog.cache.enabled:true}"
+    )
+    public void handleProductChange(String payload) {
+        try {
+            CatalogProductChangedEvent event = objectMapper.readValue(payload, CatalogProductChangedEvent.class);
+            if (event.productId() == null) {
+                log.info("Catalog change without product id ({}), clearing product cache", event.changeType());
+                productCache.invalidateAll();
+                return;
+            }
+            productCache.invalidate(event.productId());
+            log.debug("Invalidated cached product {} after {} event", event.productId(), event.changeType());
+        } catch (JsonProcessingException ex) {
+            log.warn("Unreadable catalog change event, clearing product cache", ex);
+            productCache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.portfolio.orders.events;
+
+import java.util.UUID;
+
+public record CatalogProductChangedEvent(
+    UUID productId,
+    String changeType
+) {}
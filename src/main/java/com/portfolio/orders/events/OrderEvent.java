@@ -0,0 +1,120 @@
+package com.portfolio.orders.events;
+
+import com.portfolio.orders.entity.OrderEntity;
+import com.portfolio.orders.entity.OrderStatus;
+import com.portfolio.orders.events.OrderKafkaEventPublisher.OrderKafkaItem;
+import com.portfolio.orders.events.OrderKafkaEventPublisher.OrderKafkaPayload;
+import com.portfolio.orders.events.OrderNotificationPublisher.OrderNotificationPayload;
+import com.portfolio.orders.repository.OrderStatusView;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable snapshot of one order change, taken once and shared by every {@link OrderEventSink}. The order's items
+ * are copied a single time, and each encoded form is produced on first use and then reused by any sink that asks for
+ * the same view and encoding.
+ */
+public final class OrderEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED
+    }
+
+    /** Payload shapes the sinks publish. */
+    public enum View {
+        /** The full order with items, as published to the checkout events topic. */
+        CHECKOUT,
+        /** Id, status and total only. */
+        NOTIFICATION
+    }
+
+    private record Format(View view, OrderEventEncoding encoding) {
+    }
+
+    private final Type type;
+    private final UUID orderId;
+    private final UUID userId;
+    private final String userName;
+    private final String userEmail;
+    private final OrderStatus status;
+    private final BigDecimal totalAmount;
+    private final String currency;
+    private final OffsetDateTime createdAt;
+    private final List<OrderKafkaItem> items;
+    private final Map<Format, byte[]> encodings = new ConcurrentHashMap<>(4);
+
+    private OrderEvent(Type type, UUID orderId, UUID userId, String userName, String userEmail, OrderStatus status,
+                       BigDecimal totalAmount, String currency, OffsetDateTime createdAt, List<OrderKafkaItem> items) {
+        this.type = type;
+        this.orderId = orderId;
+        this.userId = userId;
+        this.userName = userName;
+        this.userEmail = userEmail;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.currency = currency;
+        this.createdAt = createdAt;
+        this.items = items;
+    }
+
+    public static OrderEvent created(OrderEntity order) {
+        return of(Type.CREATED, order);
+    }
+
+    public static OrderEvent updated(OrderEntity order) {
+        return of(Type.UPDATED, order);
+    }
+
+    /**
+     * Status change read through {@link OrderStatusView}; the event carries no user or item data, which only the
+     * checkout view needs.
+     */
+    public static OrderEvent statusChanged(OrderStatusView order) {
+        return new OrderEvent(Type.STATUS_CHANGED, order.id(), null, null, null, order.status(), order.totalAmount(),
+            null, null, List.of());
+    }
+
+    private static OrderEvent of(Type type, OrderEntity order) {
+        List<OrderKafkaItem> items = order.getItems().stream()
+            .map(item -> new OrderKafkaItem(item.getProductId(), item.getTitle(), item.getQuantity(), item.getPrice()))
+            .toList();
+        return new OrderEvent(type, order.getId(), order.getUserId(), order.getUserFullName(), order.getUserEmail(),
+            order.getStatus(), order.getTotalAmount(), order.getCurrency(), order.getCreatedAt(), items);
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    public UUID orderId() {
+        return orderId;
+    }
+
+    public OrderStatus status() {
+        return status;
+    }
+
+    public OrderKafkaPayload checkoutPayload() {
+        return new OrderKafkaPayload(orderId, userId, userName, userEmail, status != null ? status.name() : null,
+            totalAmount, currency, createdAt, items);
+    }
+
+    public OrderNotificationPayload notificationPayload() {
+        return new OrderNotificationPayload(orderId, status != null ? status.name() : "UNKNOWN", totalAmount);
+    }
+
+    /**
+     * Bytes of this event in the given view and encoding, computed by {@code encoder} at most once. The array is
+     * shared between sinks and must not be modified.
+     */
+    byte[] encoded(View view, OrderEventEncoding encoding, Function<OrderEvent, byte[]> encoder) {
+        return encodings.computeIfAbsent(new Format(view, encoding), format -> encoder.apply(this));
+    }
+}
@@ -0,0 +1,298 @@
+package com.portfolio.orders.events;
+
+import com.portfolio.orders.events.OrderKafkaEventPublisher.OrderKafkaItem;
+import com.portfolio.orders.events.OrderKafkaEventPublisher.OrderKafkaPayload;
+import com.portfolio.orders.events.OrderNotificationPublisher.OrderNotificationPayload;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact, versioned encoding of the checkout and notification payloads.
+ *
+ * <p>Every message starts with a version byte and a payload type byte, followed by a varint bitmask of the fields
+ * that are present and then those fields in declaration order. UUIDs take 16 bytes, strings are length-prefixed
+ * UTF-8, amounts are a scale plus a zig-zag varint unscaled long, and timestamps are epoch microseconds plus the
+ * offset in seconds. Field names are never written, so adding a field means a new version.
+ */
+public final class OrderEventBinaryCodec {
+
+    public static final byte VERSION = 1;
+
+    static final byte CHECKOUT = 1;
+    static final byte NOTIFICATION = 2;
+
+    private OrderEventBinaryCodec() {
+    }
+
+    public static byte[] encode(OrderKafkaPayload payload) {
+        List<OrderKafkaItem> items = payload.items();
+        Output out = new Output(96 + (items != null ? items.size() * 40 : 0));
+        out.header(CHECKOUT);
+        out.presence(payload.orderId(), payload.userId(), payload.userName(), payload.userEmail(), payload.status(),
+            payload.totalAmount(), payload.currency(), payload.createdAt(), items);
+        out.uuid(payload.orderId());
+        out.uuid(payload.userId());
+        out.string(payload.userName());
+        out.string(payload.userEmail());
+        out.string(payload.status());
+        out.decimal(payload.totalAmount());
+        out.string(payload.currency());
+        out.timestamp(payload.createdAt());
+        if (items != null) {
+            out.varLong(items.size());
+            for (OrderKafkaItem item : items) {
+                out.presence(item.productId(), item.productName(), item.quantity(), item.price());
+                out.uuid(item.productId());
+                out.string(item.productName());
+                if (item.quantity() != null) {
+                    out.zigZag(item.quantity());
+                }
+                out.decimal(item.price());
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] encode(OrderNotificationPayload payload) {
+        Output out = new Output(48);
+        out.header(NOTIFICATION);
+        out.presence(payload.orderId(), payload.status(), payload.totalAmount());
+        out.uuid(payload.orderId());
+        out.string(payload.status());
+        out.decimal(payload.totalAmount());
+        return out.toByteArray();
+    }
+
+    public static OrderKafkaPayload decodeCheckout(byte[] bytes) {
+        Input in = new Input(bytes, CHECKOUT);
+        long present = in.varLong();
+        UUID orderId = in.has(present, 0) ? in.uuid() : null;
+        UUID userId = in.has(present, 1) ? in.uuid() : null;
+        String userName = in.has(present, 2) ? in.string() : null;
+        String userEmail = in.has(present, 3) ? in.string() : null;
+        String status = in.has(present, 4) ? in.string() : null;
+        BigDecimal totalAmount = in.has(present, 5) ? in.decimal() : null;
+        String currency = in.has(present, 6) ? in.string() : null;
+        OffsetDateTime createdAt = in.has(present, 7) ? in.timestamp() : null;
+        List<OrderKafkaItem> items = null;
+        if (in.has(present, 8)) {
+            int count = Math.toIntExact(in.varLong());
+            items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long itemPresent = in.varLong();
+                items.add(new OrderKafkaItem(
+                    in.has(itemPresent, 0) ? in.uuid() : null,
+                    in.has(itemPresent, 1) ? in.string() : null,
+                    in.has(itemPresent, 2) ? Math.toIntExact(in.zigZag()) : null,
+                    in.has(itemPresent, 3) ? in.decimal() : null));
+            }
+        }
+        in.expectEnd();
+        return new OrderKafkaPayload(orderId, userId, userName, userEmail, status, totalAmount, currency, createdAt,
+            items);
+    }
+
+    public static OrderNotificationPayload decodeNotification(byte[] bytes) {
+        Input in = new Input(bytes, NOTIFICATION);
+        long present = in.varLong();
+        OrderNotificationPayload payload = new OrderNotificationPayload(
+            in.has(present, 0) ? in.uuid() : null,
+            in.has(present, 1) ? in.string() : null,
+            in.has(present, 2) ? in.decimal() : null);
+        in.expectEnd();
+        return payload;
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+        private int position;
+
+        Output(int initialCapacity) {
+            buffer = new byte[initialCapacity];
+        }
+
+        void header(byte type) {
+            put(VERSION);
+            put(type);
+        }
+
+        void presence(Object... fields) {
+            long mask = 0;
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i] != null) {
+                    mask |= 1L << i;
+                }
+            }
+            varLong(mask);
+        }
+
+        void uuid(UUID value) {
+            if (value == null) {
+                return;
+            }
+            fixedLong(value.getMostSignificantBits());
+            fixedLong(value.getLeastSignificantBits());
+        }
+
+        void string(String value) {
+            if (value == null) {
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varLong(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, buffer, position, utf8.length);
+            position += utf8.length;
+        }
+
+        void decimal(BigDecimal value) {
+            if (value == null) {
+                return;
+            }
+            BigInteger unscaled = value.unscaledValue();
+            if (unscaled.bitLength() > 63) {
+                throw new IllegalArgumentException("Amount %s does not fit a scaled long".formatted(value));
+            }
+            zigZag(value.scale());
+            zigZag(unscaled.longValue());
+        }
+
+        void timestamp(OffsetDateTime value) {
+            if (value == null) {
+                return;
+            }
+            zigZag(Math.addExact(Math.multiplyExact(value.toEpochSecond(), 1_000_000L), value.getNano() / 1_000));
+            zigZag(value.getOffset().getTotalSeconds());
+        }
+
+        void zigZag(long value) {
+            varLong((value << 1) ^ (value >> 63));
+        }
+
+        void varLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void fixedLong(long value) {
+            ensure(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void put(byte value) {
+            ensure(1);
+            buffer[position++] = value;
+        }
+
+        private void ensure(int bytes) {
+            if (position + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] buffer;
+        private int position;
+
+        Input(byte[] buffer, byte expectedType) {
+            this.buffer = buffer;
+            if (buffer.length < 2 || buffer[0] != VERSION) {
+                throw new IllegalArgumentException("Unsupported order event encoding version "
+                    + (buffer.length > 0 ? buffer[0] : "<empty>"));
+            }
+            if (buffer[1] != expectedType) {
+                throw new IllegalArgumentException("Expected order event type %d but got %d"
+                    .formatted(expectedType, buffer[1]));
+            }
+            position = 2;
+        }
+
+        boolean has(long presence, int field) {
+            return (presence & (1L << field)) != 0;
+        }
+
+        UUID uuid() {
+            return new UUID(fixedLong(), fixedLong());
+        }
+
+        String string() {
+            int length = Math.toIntExact(varLong());
+            require(length);
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        BigDecimal decimal() {
+            int scale = Math.toIntExact(zigZag());
+            return BigDecimal.valueOf(zigZag(), scale);
+        }
+
+        OffsetDateTime timestamp() {
+            long micros = zigZag();
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds(Math.toIntExact(zigZag()));
+            return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L)
+                .atOffset(offset);
+        }
+
+        long zigZag() {
+            long value = varLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long varLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                require(1);
+                byte next = buffer[position++];
+                value |= (long) (next & 0x7F) << shift;
+                if ((next & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at byte " + position);
+        }
+
+        void expectEnd() {
+            if (position != buffer.length) {
+                throw new IllegalArgumentException("%d trailing bytes after order event".formatted(buffer.length - position));
+            }
+        }
+
+        private long fixedLong() {
+            require(Long.BYTES);
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private void require(int bytes) {
+            if (bytes < 0 || position + bytes > buffer.length) {
+                throw new IllegalArgumentException("Truncated order event at byte " + position);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.portfolio.orders.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns an {@link OrderEvent} into broker bytes in the configured {@link OrderEventEncoding}, caching the result on
+ * the event so sinks sharing a view serialize it once.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderEventEncoder {
+
+    private final ObjectMapper objectMapper;
+    private final OrderEventProperties properties;
+
+    public String contentType() {
+        return properties.encoding().contentType();
+    }
+
+    public byte[] encode(OrderEvent event, OrderEvent.View view) {
+        OrderEventEncoding encoding = properties.encoding();
+        return event.encoded(view, encoding, snapshot -> {
+            boolean checkout = view == OrderEvent.View.CHECKOUT;
+            if (encoding == OrderEventEncoding.BINARY) {
+                return checkout
+                    ? OrderEventBinaryCodec.encode(snapshot.checkoutPayload())
+                    : OrderEventBinaryCodec.encode(snapshot.notificationPayload());
+            }
+            try {
+                return objectMapper.writeValueAsBytes(checkout ? snapshot.checkoutPayload() : snapshot.notificationPayload());
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Failed to serialize order %s %s payload"
+                    .formatted(snapshot.orderId(), view.name().toLowerCase()), ex);
+            }
+        });
+    }
+}
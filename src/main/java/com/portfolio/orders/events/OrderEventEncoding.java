@@ -0,0 +1,31 @@
+package com.portfolio.orders.events;
+
+import java.util.Arrays;
+
+/**
+ * Wire formats for order events. The content type travels with every message ({@code contentType} header on Kafka,
+ * the AMQP content-type property on RabbitMQ) so consumers can tell the two apart during a rollout.
+ */
+public enum OrderEventEncoding {
+
+    JSON("application/json"),
+    /** {@link OrderEventBinaryCodec} format; the version is part of the content type and of the first byte. */
+    BINARY("application/vnd.portfolio.order-event.v1+binary");
+
+    private final String contentType;
+
+    OrderEventEncoding(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public static OrderEventEncoding fromContentType(String contentType) {
+        return Arrays.stream(values())
+            .filter(encoding -> encoding.contentType.equalsIgnoreCase(contentType))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unsupported order event content type " + contentType));
+    }
+}
@@ -0,0 +1,15 @@
+package com.portfolio.orders.events;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "orders.events")
+public record OrderEventProperties(
+    OrderEventEncoding encoding
+) {
+
+    public OrderEventProperties {
+        if (encoding == null) {
+            encoding = OrderEventEncoding.JSON;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.portfolio.orders.events;
+
+import com.portfolio.orders.entity.OrderOutboxEntity;
+import com.portfolio.orders.entity.OutboxDestination;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A broker that order events fan out to. {@link OrderOutbox} asks every sink for its message when an order changes
+ * and {@link OrderOutboxRelay} hands each sink its committed messages, one sink per {@link OutboxDestination}.
+ */
+public interface OrderEventSink {
+
+    OutboxDestination destination();
+
+    boolean accepts(OrderEvent event);
+
+    String messageKey(OrderEvent event);
+
+    byte[] payload(OrderEvent event);
+
+    String contentType();
+
+    /**
+     * Whether a new message of this sink replaces its messages for the same order that are still held back.
+     */
+    default boolean coalesces() {
+        return false;
+    }
+
+    /**
+     * How long the message for {@code event} is held back before the relay may send it. Only consulted when
+     * {@link #coalesces()}.
+     */
+    default Duration holdFor(OrderEvent event) {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Publishes relayed messages. The future completes with the ids the broker accepted and does not complete
+     * exceptionally for individual failures; messages missing from the result are retried.
+     */
+    CompletableFuture<Set<UUID>> publish(List<OrderOutboxEntity> messages);
+}
@@ -1,54 +1,163 @@
 package com.portfolio.orders.events;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.portfolio.orders.entity.OrderEntity;
-import com.portfolio.orders.entity.OrderItemEntity;
+import com.portfolio.orders.entity.OrderOutboxEntity;
+import com.portfolio.orders.entity.OutboxDestination;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.stereotype.Component;
 
+/**
+ * Publishes new orders to the checkout events topic, keyed by order id. At most {@code orders.kafka.max-in-flight}
+ * sends may be unacknowledged at once, one relay batch by default. A healthy relay never reaches the limit. When the
+ * broker stalls, the relay gives up on a batch after its send timeout while those records are still in the producer
+ * buffer. The next batch then waits for acknowledgements instead of piling more records on top.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
-public class OrderKafkaEventPublisher {
+public class OrderKafkaEventPublisher implements OrderEventSink {
 
-    @Value("${orders.kafka.topic:orders-checkout-events}")
-    private String topic;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final OrderEventEncoder encoder;
+    private final OrderKafkaProperties properties;
+    private final Semaphore inFlight;
+    private final Timer acknowledgedTimer;
+    private final Timer failedTimer;
+    private final Counter throttledCounter;
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    public OrderKafkaEventPublisher(
+        KafkaTemplate<String, byte[]> kafkaTemplate,
+        OrderEventEncoder encoder,
+        OrderKafkaProperties properties,
+        MeterRegistry registry
+    ) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.encoder = encoder;
+        this.properties = properties;
+        this.inFlight = new Semaphore(properties.maxInFlight());
+        this.acknowledgedTimer = sendTimer(registry, "acknowledged");
+        this.failedTimer = sendTimer(registry, "failed");
+        this.throttledCounter = Counter.builder("orders_kafka_send_throttled")
+            .description("Sends refused because the in-flight limit stayed full for the whole wait")
+            .register(registry);
+        Gauge.builder("orders_kafka_in_flight", inFlight, permits -> properties.maxInFlight() - permits.availablePermits())
+            .description("Kafka sends waiting for a broker acknowledgement")
+            .register(registry);
+    }
+
+    @Override
+    public OutboxDestination destination() {
+        return OutboxDestination.KAFKA;
+    }
+
+    @Override
+    public boolean accepts(OrderEvent event) {
+        return event.type() == OrderEvent.Type.CREATED;
+    }
+
+    @Override
+    public String messageKey(OrderEvent event) {
+        return event.orderId().toString();
+    }
+
+    @Override
+    public byte[] payload(OrderEvent event) {
+        return encoder.encode(event, OrderEvent.View.CHECKOUT);
+    }
+
+    @Override
+    public String contentType() {
+        return encoder.contentType();
+    }
+
+    /**
+     * Issues every send before waiting on any of them and flushes once, so the batch leaves in shared record
+     * batches. Rejected records are simply left out of the result. Once one record found the limit full for the whole
+     * wait, the rest of the batch only takes permits that are free right away.
+     */
+    @Override
+    public CompletableFuture<Set<UUID>> publish(List<OrderOutboxEntity> messages) {
+        Set<UUID> delivered = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<?>> sends = new ArrayList<>(messages.size());
+        Duration wait = properties.inFlightWait();
+        for (OrderOutboxEntity message : messages) {
+            CompletableFuture<SendResult<String, byte[]>> send =
+                send(message.getMessageKey(), message.getPayload(), message.getContentType(), wait);
+            if (send == null) {
+                wait = Duration.ZERO;
+                continue;
+            }
+            sends.add(send.thenRun(() -> delivered.add(message.getId())).exceptionally(ex -> null));
+        }
+        if (!sends.isEmpty()) {
+            kafkaTemplate.flush();
+        }
+        return CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).thenApply(done -> delivered);
+    }
 
-    public void publish(OrderEntity order) {
-        if (order == null) {
-            return;
+    /**
+     * Sends one record once an in-flight permit is free. The returned future completes with the broker
+     * acknowledgement; it is {@code null} when no permit freed up within {@code wait}.
+     */
+    private CompletableFuture<SendResult<String, byte[]>> send(String key, byte[] payload, String contentType,
+                                                               Duration wait) {
+        if (!acquirePermit(wait)) {
+            throttledCounter.increment();
+            return null;
         }
+        long started = System.nanoTime();
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(properties.topic(), key, payload);
+        record.headers().add(MessageHeaders.CONTENT_TYPE, contentType.getBytes(StandardCharsets.UTF_8));
+        CompletableFuture<SendResult<String, byte[]>> send;
         try {
-            OrderKafkaPayload payload = new OrderKafkaPayload(
-                order.getId(),
-                order.getUserId(),
-                order.getUserFullName(),
-                order.getUserEmail(),
-                order.getStatus() != null ? order.getStatus().name() : null,
-                order.getTotalAmount(),
-                order.getCurrency(),
-                order.getCreatedAt(),
-                order.getItems().stream()
-                    .map(item -> new OrderKafkaItem(item.getProductId(), item.getTitle(), item.getQuantity(), item.getPrice()))
-                    .toList()
-            );
-            String body = objectMapper.writeValueAsString(payload);
-            kafkaTemplate.send(topic, order.getId().toString(), body);
-            log.debug("Published order {} event to Kafka topic {}", order.getId(), topic);
-        } catch (JsonProcessingException ex) {
-            log.error("Failed to serialize order {} kafka payload", order.getId(), ex);
+            send = kafkaTemplate.send(record);
+        } catch (RuntimeException ex) {
+            inFlight.release();
+            failedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return CompletableFuture.failedFuture(ex);
         }
+        return send.whenComplete((result, failure) -> {
+            inFlight.release();
+            (failure == null ? acknowledgedTimer : failedTimer).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (failure != null) {
+                log.warn("Kafka rejected checkout event {}: {}", key, failure.getMessage());
+            }
+        });
+    }
+
+    private boolean acquirePermit(Duration wait) {
+        try {
+            return inFlight.tryAcquire(wait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Timer sendTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("orders_kafka_send_duration")
+            .tag("outcome", outcome)
+            .description("Time from handing a checkout event to the producer until the broker answered")
+            .publishPercentileHistogram()
+            .register(registry);
     }
 
     public record OrderKafkaPayload(
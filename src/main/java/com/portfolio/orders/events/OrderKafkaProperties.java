@@ -0,0 +1,29 @@
+package com.portfolio.orders.events;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Publishing limits for the checkout events topic. {@code maxInFlight} follows {@code orders.outbox.batch-size}
+ * unless set; a bigger limit is never reached by the relay. Batching, compression and idempotence are producer
+ * settings and live under {@code spring.kafka.producer}.
+ */
+@ConfigurationProperties(prefix = "orders.kafka")
+public record OrderKafkaProperties(
+    String topic,
+    int maxInFlight,
+    Duration inFlightWait
+) {
+
+    public OrderKafkaProperties {
+        if (topic == null || topic.isBlank()) {
+            topic = "orders-checkout-events";
+        }
+        if (maxInFlight <= 0) {
+            maxInFlight = 200;
+        }
+        if (inFlightWait == null) {
+            inFlightWait = Duration.ofSeconds(5);
+        }
+    }
+}
@@ -1,11 +1,36 @@
 package com.portfolio.orders.events;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+/**
+ * {@code maxUnconfirmed} bounds the notifications awaiting a publisher confirm; {@code drainTimeout} is how long
+ * shutdown waits for those confirms before leaving the rest to the outbox relay of the next instance. A positive
+ * {@code coalesceWindow} holds notifications back for that long so that only an order's latest status is sent.
+ */
 @ConfigurationProperties(prefix = "orders.notification")
 public record OrderNotificationProperties(
     String exchange,
     String routingKeyPattern,
-    boolean enabled
+    boolean enabled,
+    int maxUnconfirmed,
+    Duration inFlightWait,
+    Duration drainTimeout,
+    Duration coalesceWindow
 ) {
+
+    public OrderNotificationProperties {
+        if (maxUnconfirmed <= 0) {
+            maxUnconfirmed = 1000;
+        }
+        if (inFlightWait == null) {
+            inFlightWait = Duration.ofSeconds(5);
+        }
+        if (drainTimeout == null) {
+            drainTimeout = Duration.ofSeconds(10);
+        }
+        if (coalesceWindow == null || coalesceWindow.isNegative()) {
+            coalesceWindow = Duration.ZERO;
+        }
+    }
 }
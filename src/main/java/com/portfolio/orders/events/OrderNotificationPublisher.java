@@ -1,47 +1,251 @@
 package com.portfolio.orders.events;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.portfolio.orders.entity.OrderEntity;
-import com.portfolio.orders.entity.OrderStatus;
-import lombok.RequiredArgsConstructor;
+import com.portfolio.orders.entity.OrderOutboxEntity;
+import com.portfolio.orders.entity.OutboxDestination;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Component;
 
+/**
+ * Delivers order notifications to RabbitMQ, routed by the order's status.
+ *
+ * <p>With correlated publisher confirms enabled on the connection factory, a relayed batch is sent on one channel
+ * without waiting, and a message only counts as delivered once the broker confirmed it. Nacked or unconfirmed messages
+ * stay in the outbox and are retried by the relay. At most {@code orders.notification.max-unconfirmed} messages may
+ * await a confirm at once, and shutdown waits for the outstanding ones. Without confirms, a message counts as
+ * delivered once it was written to the channel.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
-public class OrderNotificationPublisher {
+public class OrderNotificationPublisher implements OrderEventSink, DisposableBean {
 
     private final RabbitTemplate rabbitTemplate;
     private final OrderNotificationProperties properties;
-    private final ObjectMapper objectMapper;
+    private final OrderEventEncoder encoder;
+    private final Semaphore unconfirmed;
+    private final Timer ackTimer;
+    private final Timer nackTimer;
+    private final Counter nackCounter;
+    private final Counter returnedCounter;
+    private final Counter throttledCounter;
 
-    public void publish(OrderEntity order) {
-        if (!properties.enabled()) {
+    public OrderNotificationPublisher(
+        RabbitTemplate rabbitTemplate,
+        OrderNotificationProperties properties,
+        OrderEventEncoder encoder,
+        MeterRegistry registry
+    ) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.properties = properties;
+        this.encoder = encoder;
+        this.unconfirmed = new Semaphore(properties.maxUnconfirmed());
+        this.ackTimer = confirmTimer(registry, "ack");
+        this.nackTimer = confirmTimer(registry, "nack");
+        this.nackCounter = Counter.builder("orders_rabbit_nacked")
+            .description("Order notifications the broker refused or lost before confirming; the outbox retries them")
+            .register(registry);
+        this.returnedCounter = Counter.builder("orders_rabbit_returned")
+            .description("Order notifications confirmed but returned as unroutable")
+            .register(registry);
+        this.throttledCounter = Counter.builder("orders_rabbit_send_throttled")
+            .description("Notifications not sent because the unconfirmed limit stayed full for the whole wait")
+            .register(registry);
+        Gauge.builder("orders_rabbit_unconfirmed", unconfirmed,
+                permits -> properties.maxUnconfirmed() - permits.availablePermits())
+            .description("Order notifications sent and awaiting a publisher confirm")
+            .register(registry);
+    }
+
+    @Override
+    public OutboxDestination destination() {
+        return OutboxDestination.RABBITMQ;
+    }
+
+    @Override
+    public boolean accepts(OrderEvent event) {
+        return properties.enabled();
+    }
+
+    @Override
+    public String messageKey(OrderEvent event) {
+        return properties.routingKeyPattern()
+            .replace("*", event.status() != null ? event.status().name().toLowerCase() : "unknown");
+    }
+
+    @Override
+    public byte[] payload(OrderEvent event) {
+        return encoder.encode(event, OrderEvent.View.NOTIFICATION);
+    }
+
+    @Override
+    public String contentType() {
+        return encoder.contentType();
+    }
+
+    @Override
+    public boolean coalesces() {
+        return !properties.coalesceWindow().isZero();
+    }
+
+    /**
+     * Final statuses are never held, so a delivery or cancellation goes out as soon as the relay sees it.
+     */
+    @Override
+    public Duration holdFor(OrderEvent event) {
+        return event.status() != null && event.status().isTerminal() ? Duration.ZERO : properties.coalesceWindow();
+    }
+
+    @Override
+    public CompletableFuture<Set<UUID>> publish(List<OrderOutboxEntity> messages) {
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            return CompletableFuture.completedFuture(sendAll(messages));
+        }
+        return sendConfirmed(messages);
+    }
+
+    /**
+     * Sends relayed notifications over one channel without waiting in between. The future completes once every sent
+     * message was confirmed or nacked, with the ids of the confirmed ones.
+     */
+    public CompletableFuture<Set<UUID>> sendConfirmed(List<OrderOutboxEntity> messages) {
+        Set<UUID> confirmed = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<?>> confirms = new ArrayList<>(messages.size());
+        if (messages.isEmpty()) {
+            return CompletableFuture.completedFuture(confirmed);
+        }
+        rabbitTemplate.invoke(operations -> {
+            for (int i = 0; i < messages.size(); i++) {
+                OrderOutboxEntity message = messages.get(i);
+                if (!acquirePermit()) {
+                    throttledCounter.increment();
+                    log.warn("{} order notifications still unconfirmed after {}, deferring {} to the next relay run",
+                        properties.maxUnconfirmed(), properties.inFlightWait(), messages.size() - i);
+                    break;
+                }
+                CorrelationData correlation = new CorrelationData(message.getId().toString());
+                long started = System.nanoTime();
+                try {
+                    operations.send(properties.exchange(), message.getMessageKey(), toAmqp(message), correlation);
+                } catch (AmqpException ex) {
+                    unconfirmed.release();
+                    log.warn("Failed to publish order notification for {}", message.getAggregateId(), ex);
+                    continue;
+                }
+                confirms.add(correlation.getFuture().handle((confirm, failure) -> {
+                    unconfirmed.release();
+                    if (failure == null && confirm.isAck()) {
+                        ackTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                        confirmed.add(message.getId());
+                        logReturned(message, correlation.getReturned());
+                    } else {
+                        nackTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                        nackCounter.increment();
+                        log.warn("RabbitMQ did not confirm the order notification for {}: {}", message.getAggregateId(),
+                            failure != null ? failure.toString() : confirm.getReason());
+                    }
+                    return null;
+                }));
+            }
+            return null;
+        });
+        return CompletableFuture.allOf(confirms.toArray(CompletableFuture[]::new)).thenApply(done -> confirmed);
+    }
+
+    /**
+     * Sends relayed notifications over one channel and returns the ids of the messages the broker accepted.
+     */
+    public Set<UUID> sendAll(List<OrderOutboxEntity> messages) {
+        Set<UUID> sent = new HashSet<>();
+        if (messages.isEmpty()) {
+            return sent;
+        }
+        rabbitTemplate.invoke(operations -> {
+            for (OrderOutboxEntity message : messages) {
+                try {
+                    operations.send(properties.exchange(), message.getMessageKey(), toAmqp(message));
+                    sent.add(message.getId());
+                    log.debug("Published order notification for {} with routing key {}",
+                        message.getAggregateId(), message.getMessageKey());
+                } catch (AmqpException ex) {
+                    log.warn("Failed to publish order notification for {}", message.getAggregateId(), ex);
+                }
+            }
+            return null;
+        });
+        return sent;
+    }
+
+    /**
+     * Waits for outstanding confirms, by taking every permit, so they are counted before the connection closes.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (unconfirmed.tryAcquire(properties.maxUnconfirmed(), properties.drainTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+            unconfirmed.release(properties.maxUnconfirmed());
             return;
         }
+        log.warn("{} order notifications still unconfirmed after {}; the outbox relay will resend them",
+            properties.maxUnconfirmed() - unconfirmed.availablePermits(), properties.drainTimeout());
+    }
+
+    private void logReturned(OrderOutboxEntity message, ReturnedMessage returned) {
+        // an unroutable notification is confirmed anyway; resending cannot route it, so it only gets counted
+        if (returned != null) {
+            returnedCounter.increment();
+            log.warn("Order notification for {} was unroutable on {} with key {}: {}", message.getAggregateId(),
+                returned.getExchange(), returned.getRoutingKey(), returned.getReplyText());
+        }
+    }
+
+    private boolean acquirePermit() {
         try {
-            OrderStatus status = order.getStatus();
-            OrderNotificationPayload payload = new OrderNotificationPayload(
-                order.getId(),
-                status != null ? status.name() : "UNKNOWN",
-                order.getTotalAmount()
-            );
-            String body = objectMapper.writeValueAsString(payload);
-            String routingKey = properties.routingKeyPattern().replace("*", status != null ? status.name().toLowerCase() : "unknown");
-            rabbitTemplate.convertAndSend(properties.exchange(), routingKey, body);
-            log.debug("Published order notification for {} with routing key {}", order.getId(), routingKey);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to serialize order {} notification payload", order.getId(), e);
+            return unconfirmed.tryAcquire(properties.inFlightWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
 
+    private static Timer confirmTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("orders_rabbit_confirm_duration")
+            .tag("outcome", outcome)
+            .description("Time from sending an order notification until the broker confirmed or nacked it")
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private static Message toAmqp(OrderOutboxEntity message) {
+        return MessageBuilder.withBody(message.getPayload())
+            .setContentType(message.getContentType())
+            .setMessageId(message.getId().toString())
+            .build();
+    }
+
     public record OrderNotificationPayload(
-        java.util.UUID orderId,
+        UUID orderId,
         String status,
-        java.math.BigDecimal totalAmount
+        BigDecimal totalAmount
     ) {
     }
 }
@@ -0,0 +1,116 @@
+package com.portfolio.orders.events;
+
+import com.portfolio.orders.entity.OrderEntity;
+import com.portfolio.orders.entity.OrderOutboxEntity;
+import com.portfolio.orders.metrics.OrdersMetrics;
+import com.portfolio.orders.repository.OrderOutboxRepository;
+import com.portfolio.orders.repository.OrderStatusView;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records the broker messages of an order change in {@code order_outbox}, inside the transaction that makes the
+ * change. Each change becomes one {@link OrderEvent} that every accepting {@link OrderEventSink} turns into its
+ * message. Nothing is sent from here; {@link OrderOutboxRelay} publishes committed rows.
+ *
+ * <p>For sinks that coalesce, a message may be held back for a while, and a newer message for the same order
+ * replaces the held one instead of queueing behind it.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+
+    private final OrderOutboxRepository repository;
+    private final List<OrderEventSink> sinks;
+    private final OrdersMetrics ordersMetrics;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCreated(OrderEntity order) {
+        record(List.of(OrderEvent.created(order)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ordersCreated(List<OrderEntity> orders) {
+        record(orders.stream().map(OrderEvent::created).toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderChanged(OrderEntity order) {
+        record(List.of(OrderEvent.updated(order)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(OrderStatusView order) {
+        record(List.of(OrderEvent.statusChanged(order)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanges(List<OrderStatusView> orders) {
+        record(orders.stream().map(OrderEvent::statusChanged).toList());
+    }
+
+    private void record(List<OrderEvent> events) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<OrderOutboxEntity> messages = new ArrayList<>();
+        for (OrderEvent event : events) {
+            for (OrderEventSink sink : sinks) {
+                if (sink.accepts(event)) {
+                    Duration hold = sink.coalesces() ? sink.holdFor(event) : Duration.ZERO;
+                    messages.add(OrderOutboxEntity.builder()
+                        .aggregateId(event.orderId())
+                        .destination(sink.destination())
+                        .messageKey(sink.messageKey(event))
+                        .payload(sink.payload(event))
+                        .contentType(sink.contentType())
+                        .createdAt(now)
+                        .holdUntil(hold.isZero() ? null : now.plus(hold))
+                        .build());
+                }
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        for (OrderEventSink sink : sinks) {
+            if (sink.coalesces()) {
+                replaceHeld(sink, messages.stream().filter(message -> message.getDestination() == sink.destination())
+                    .toList(), now);
+            }
+        }
+        repository.saveAll(messages);
+    }
+
+    /**
+     * Drops the sink's held messages for the orders in {@code messages}. A held replacement keeps the earliest hold
+     * it replaces, so an order that keeps changing still gets a notification once the first window ends.
+     */
+    private void replaceHeld(OrderEventSink sink, List<OrderOutboxEntity> messages, OffsetDateTime now) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Map<UUID, List<OrderOutboxEntity>> byOrder = messages.stream()
+            .collect(Collectors.groupingBy(OrderOutboxEntity::getAggregateId));
+        List<OrderOutboxEntity> held = repository.findHeld(sink.destination(), byOrder.keySet(), now);
+        if (held.isEmpty()) {
+            return;
+        }
+        for (OrderOutboxEntity previous : held) {
+            for (OrderOutboxEntity replacement : byOrder.get(previous.getAggregateId())) {
+                if (replacement.getHoldUntil() != null && previous.getHoldUntil().isBefore(replacement.getHoldUntil())) {
+                    replacement.setHoldUntil(previous.getHoldUntil());
+                }
+            }
+        }
+        int replaced = repository.deleteHeld(held.stream().map(OrderOutboxEntity::getId).toList(), now);
+        ordersMetrics.recordCoalesced(sink.destination().name().toLowerCase(), replaced);
+    }
+}
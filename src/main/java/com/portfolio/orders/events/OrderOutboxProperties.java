@@ -0,0 +1,41 @@
+package com.portfolio.orders.events;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "orders.outbox")
+public record OrderOutboxProperties(
+    boolean relayEnabled,
+    int batchSize,
+    Duration pollInterval,
+    Duration sendTimeout,
+    Duration retention,
+    int cleanupBatchSize,
+    Duration retryBackoff,
+    Duration maxRetryBackoff
+) {
+
+    public OrderOutboxProperties {
+        if (batchSize <= 0) {
+            batchSize = 200;
+        }
+        if (pollInterval == null) {
+            pollInterval = Duration.ofMillis(500);
+        }
+        if (sendTimeout == null) {
+            sendTimeout = Duration.ofSeconds(10);
+        }
+        if (retention == null) {
+            retention = Duration.ofDays(7);
+        }
+        if (cleanupBatchSize <= 0) {
+            cleanupBatchSize = 1000;
+        }
+        if (retryBackoff == null) {
+            retryBackoff = Duration.ofSeconds(1);
+        }
+        if (maxRetryBackoff == null) {
+            maxRetryBackoff = Duration.ofMinutes(5);
+        }
+    }
+}
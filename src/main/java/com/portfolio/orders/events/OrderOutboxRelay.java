@@ -0,0 +1,279 @@
+package com.portfolio.orders.events;
+
+import com.portfolio.orders.entity.OrderOutboxEntity;
+import com.portfolio.orders.entity.OutboxDestination;
+import com.portfolio.orders.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains {@code order_outbox} in id order and hands each batch to the {@link OrderEventSink} of every destination.
+ * A batch is claimed in a short transaction (rows locked with SKIP LOCKED, then leased through
+ * {@code next_attempt_at}), sent with no transaction or row lock open, and marked in a second short transaction, so
+ * several instances can relay side by side without a broker round trip holding database locks. Sinks are dispatched
+ * in parallel, so a slow broker delays only its own messages. A row is only marked sent once its broker accepted it,
+ * so delivery is at-least-once; a failed row backs off exponentially and holds back the later messages of its order.
+ */
+@Component
+@ConditionalOnProperty(prefix = "orders.outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OrderOutboxRelay implements DisposableBean {
+
+    private final OrderOutboxRepository repository;
+    private final TransactionTemplate transaction;
+    private final Map<OutboxDestination, OrderEventSink> sinks = new EnumMap<>(OutboxDestination.class);
+    private final ExecutorService dispatcher;
+    private final OrderOutboxProperties properties;
+    private final MeterRegistry registry;
+    private final Map<String, Counter> publishedCounters = new LinkedHashMap<>();
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OrderOutboxRelay(
+        OrderOutboxRepository repository,
+        PlatformTransactionManager transactionManager,
+        List<OrderEventSink> sinks,
+        OrderOutboxProperties properties,
+        MeterRegistry registry
+    ) {
+        this.repository = repository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        sinks.forEach(sink -> this.sinks.put(sink.destination(), sink));
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(1, sinks.size()), task -> {
+            Thread thread = new Thread(task, "orders-outbox-dispatch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.properties = properties;
+        this.registry = registry;
+        this.batchTimer = Timer.builder("orders_outbox_relay_batch")
+            .description("Time to publish and mark one outbox batch")
+            .publishPercentileHistogram()
+            .register(registry);
+        Gauge.builder("orders_outbox_pending", pending, AtomicLong::get)
+            .description("Outbox messages not yet published")
+            .register(registry);
+        Gauge.builder("orders_outbox_lag_seconds", lagMillis, value -> value.get() / 1000.0)
+            .description("Age of the oldest unpublished outbox message")
+            .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.outbox.poll-interval:500ms}", scheduler = "outboxRelayScheduler")
+    public void relay() {
+        int sent;
+        do {
+            sent = relayBatch();
+        } while (sent == properties.batchSize());
+        refreshBacklog();
+    }
+
+    /**
+     * Publishes one batch and returns how many of its messages went out. Stops short of a full batch when anything
+     * failed or was put back, so a broker outage does not spin the loop in {@link #relay()}.
+     */
+    int relayBatch() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<OrderOutboxEntity> batch = transaction.execute(status -> {
+            List<OrderOutboxEntity> locked = repository.lockUnsent(now, PageRequest.of(0, properties.batchSize()));
+            if (!locked.isEmpty()) {
+                repository.claim(locked.stream().map(OrderOutboxEntity::getId).toList(),
+                    now.plus(properties.sendTimeout().multipliedBy(2)));
+            }
+            return locked;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        long started = System.nanoTime();
+        Outcome outcome = publish(batch);
+
+        transaction.executeWithoutResult(status -> {
+            if (!outcome.delivered().isEmpty()) {
+                repository.markSent(outcome.delivered(), OffsetDateTime.now());
+            }
+            if (!outcome.failed().isEmpty()) {
+                OffsetDateTime failedAt = OffsetDateTime.now();
+                Map<Integer, List<UUID>> byAttempts = new TreeMap<>();
+                outcome.failed().forEach(message -> byAttempts
+                    .computeIfAbsent(message.getAttempts(), attempts -> new ArrayList<>()).add(message.getId()));
+                byAttempts.forEach((attempts, ids) ->
+                    repository.recordFailedAttempt(ids, failedAt.plus(backoff(attempts))));
+            }
+            if (!outcome.released().isEmpty()) {
+                repository.release(outcome.released());
+            }
+        });
+        if (!outcome.failed().isEmpty()) {
+            log.warn("{} of {} outbox messages failed to publish and will be retried", outcome.failed().size(),
+                batch.size());
+        }
+        batchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return outcome.failed().isEmpty() && outcome.released().isEmpty() ? batch.size() : 0;
+    }
+
+    /**
+     * Sends the batch in waves that carry at most one message per order and destination, so an order's messages
+     * reach a broker in id order. Once a message fails, the later messages of its order are put back unsent rather
+     * than overtaking it; so is whatever is left when the send timeout runs out.
+     */
+    private Outcome publish(List<OrderOutboxEntity> batch) {
+        long deadline = System.nanoTime() + properties.sendTimeout().toNanos();
+        Set<UUID> delivered = new HashSet<>();
+        List<OrderOutboxEntity> failed = new ArrayList<>();
+        List<UUID> released = new ArrayList<>();
+        List<OrderOutboxEntity> remaining = batch;
+        while (!remaining.isEmpty()) {
+            Set<OrderLane> inWave = new HashSet<>();
+            List<OrderOutboxEntity> wave = new ArrayList<>();
+            List<OrderOutboxEntity> later = new ArrayList<>();
+            remaining.forEach(message -> (inWave.add(OrderLane.of(message)) ? wave : later).add(message));
+
+            Map<OutboxDestination, List<OrderOutboxEntity>> byDestination = new EnumMap<>(OutboxDestination.class);
+            wave.forEach(message ->
+                byDestination.computeIfAbsent(message.getDestination(), destination -> new ArrayList<>()).add(message));
+            Map<OutboxDestination, CompletableFuture<Set<UUID>>> dispatches = new EnumMap<>(OutboxDestination.class);
+            byDestination.forEach((destination, messages) -> dispatches.put(destination, dispatch(destination, messages)));
+            Set<UUID> waveDelivered = await(dispatches, deadline);
+            byDestination.forEach((destination, messages) -> count(destination, messages, waveDelivered));
+            delivered.addAll(waveDelivered);
+
+            Set<OrderLane> blocked = new HashSet<>();
+            wave.stream().filter(message -> !waveDelivered.contains(message.getId())).forEach(message -> {
+                failed.add(message);
+                blocked.add(OrderLane.of(message));
+            });
+            remaining = new ArrayList<>();
+            for (OrderOutboxEntity message : later) {
+                if (blocked.contains(OrderLane.of(message)) || deadline - System.nanoTime() <= 0) {
+                    released.add(message.getId());
+                } else {
+                    remaining.add(message);
+                }
+            }
+        }
+        return new Outcome(delivered, failed, released);
+    }
+
+    /**
+     * Delay before the next attempt of a message that failed {@code attempts} times before: the base backoff,
+     * doubled per earlier failure up to the cap.
+     */
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.retryBackoff().multipliedBy(1L << Math.min(attempts, 20));
+        return backoff.compareTo(properties.maxRetryBackoff()) > 0 ? properties.maxRetryBackoff() : backoff;
+    }
+
+    /**
+     * Deletes published messages past the retention period, a chunk per transaction to keep undo small.
+     */
+    @Scheduled(cron = "${orders.outbox.cleanup-cron:0 15 3 * * *}")
+    public void purgePublished() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(properties.retention());
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = transaction.execute(status -> {
+                List<UUID> ids = repository.findSentBefore(cutoff, PageRequest.of(0, properties.cleanupBatchSize()));
+                repository.deleteAllByIdInBatch(ids);
+                return ids.size();
+            });
+            purged += deleted;
+        } while (deleted == properties.cleanupBatchSize());
+        log.info("Purged {} published outbox messages older than {}", purged, cutoff);
+    }
+
+    private CompletableFuture<Set<UUID>> dispatch(OutboxDestination destination, List<OrderOutboxEntity> messages) {
+        OrderEventSink sink = sinks.get(destination);
+        if (sink == null) {
+            log.warn("No sink for {} outbox messages, leaving {} unsent", destination, messages.size());
+            return CompletableFuture.completedFuture(Set.of());
+        }
+        return CompletableFuture.supplyAsync(() -> sink.publish(messages), dispatcher).thenCompose(publish -> publish);
+    }
+
+    /**
+     * Waits for every sink up to the batch deadline; a sink that fails or runs out of time counts as having
+     * delivered nothing, and its messages are retried.
+     */
+    private Set<UUID> await(Map<OutboxDestination, CompletableFuture<Set<UUID>>> dispatches, long deadline) {
+        Set<UUID> delivered = new HashSet<>();
+        dispatches.forEach((destination, dispatch) -> {
+            try {
+                delivered.addAll(dispatch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (TimeoutException ex) {
+                log.warn("{} did not acknowledge outbox messages within {}", destination, properties.sendTimeout());
+            } catch (Exception ex) {
+                log.warn("Failed to publish outbox messages to {}", destination, ex);
+            }
+        });
+        return delivered;
+    }
+
+    private void count(OutboxDestination destination, List<OrderOutboxEntity> messages, Set<UUID> delivered) {
+        long ok = messages.stream().filter(message -> delivered.contains(message.getId())).count();
+        counter(destination, "sent").increment(ok);
+        counter(destination, "failed").increment(messages.size() - ok);
+    }
+
+    private Counter counter(OutboxDestination destination, String result) {
+        return publishedCounters.computeIfAbsent(destination.name() + ':' + result, key -> Counter.builder("orders_outbox_published")
+            .tag("destination", destination.name().toLowerCase())
+            .tag("result", result)
+            .description("Outbox messages handed to a broker")
+            .register(registry));
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+    }
+
+    private record OrderLane(UUID aggregateId, OutboxDestination destination) {
+
+        static OrderLane of(OrderOutboxEntity message) {
+            return new OrderLane(message.getAggregateId(), message.getDestination());
+        }
+    }
+
+    private record Outcome(Set<UUID> delivered, List<OrderOutboxEntity> failed, List<UUID> released) {
+    }
+
+    private void refreshBacklog() {
+        pending.set(repository.countBySentAtIsNull());
+        lagMillis.set(repository.findFirstBySentAtIsNullOrderByIdAsc()
+            .map(oldest -> Math.max(0, Duration.between(oldest.getCreatedAt(), OffsetDateTime.now()).toMillis()))
+            .orElse(0L));
+    }
+}
@@ -0,0 +1,122 @@
+package com.portfolio.orders.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.orders.exception.ConflictException;
+import com.portfolio.orders.exception.ResourceNotFoundException;
+import com.portfolio.orders.metrics.OrdersMetrics;
+import com.portfolio.orders.service.OrderService;
+import com.portfolio.orders.service.PaymentBatchResult;
+import com.portfolio.orders.service.ProcessedPayments;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes payment results a poll at a time. Several results for the same order collapse to the latest one, and
+ * the survivors are applied in a single transaction before the container commits the offsets. When that transaction
+ * fails, the survivors are parked on the recovery topic and the poll is still committed. Results for orders that do
+ * not exist or that the order's status rules out are parked too, so they end up dead-lettered as they would in record
+ * mode. Results whose payment was
+ * already applied are dropped first, with one lookup for the whole poll.
+ */
+@Component
+@ConditionalOnProperty(prefix = "orders.payments.consumer", name = "mode", havingValue = "batch", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentResultBatchListener {
+
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final OrdersMetrics ordersMetrics;
+    private final PaymentResultForwarder forwarder;
+    private final ProcessedPayments processedPayments;
+
+    @KafkaListener(
+        topics = "${orders.payments.consumer.topic:payment-results}",
+        groupId = "${orders.payments.consumer.group-id:orders-group}",
+        containerFactory = "paymentResultBatchContainerFactory"
+    )
+    public void handlePaymentResults(List<ConsumerRecord<String, String>> records) {
+        long started = System.nanoTime();
+        Map<ConsumerRecord<String, String>, PaymentResultEvent> events = new LinkedHashMap<>();
+        int unreadable = 0;
+        for (ConsumerRecord<String, String> record : records) {
+            PaymentResultEvent event = read(record);
+            if (event == null || event.orderId() == null) {
+                unreadable++;
+            } else {
+                events.put(record, event);
+            }
+        }
+        Set<String> processed = processedPayments.processed(events.values().stream()
+            .map(PaymentResultEvent::paymentId)
+            .filter(Objects::nonNull)
+            .toList());
+
+        Map<UUID, Boolean> latest = new LinkedHashMap<>();
+        Map<UUID, ConsumerRecord<String, String>> latestRecords = new LinkedHashMap<>();
+        Map<String, UUID> payments = new LinkedHashMap<>();
+        int alreadyProcessed = 0;
+        for (Map.Entry<ConsumerRecord<String, String>, PaymentResultEvent> entry : events.entrySet()) {
+            PaymentResultEvent event = entry.getValue();
+            if (event.paymentId() != null && processed.contains(event.paymentId())) {
+                alreadyProcessed++;
+                continue;
+            }
+            latest.put(event.orderId(), "AUTHORIZED".equals(event.status()));
+            latestRecords.put(event.orderId(), entry.getKey());
+            if (event.paymentId() != null) {
+                payments.put(event.paymentId(), event.orderId());
+            }
+        }
+
+        PaymentBatchResult result = null;
+        try {
+            result = orderService.applyPaymentResults(latest, payments);
+        } catch (RuntimeException ex) {
+            forwarder.forward(new ArrayList<>(latestRecords.values()), ex);
+            ordersMetrics.recordPaymentResults("forwarded", latestRecords.size());
+        }
+        // parked after the batch committed, so a failed send redelivers the poll without undoing what was applied
+        if (result != null) {
+            ordersMetrics.recordPaymentResults("applied", result.applied());
+            ordersMetrics.recordPaymentResults("duplicate", result.duplicates());
+            if (!result.unknown().isEmpty()) {
+                forwarder.forward(result.unknown().stream().map(latestRecords::get).toList(),
+                    new ResourceNotFoundException("%d payment results are for unknown orders"
+                        .formatted(result.unknownOrders())));
+                ordersMetrics.recordPaymentResults("unknown_order", result.unknownOrders());
+            }
+            if (!result.conflicted().isEmpty()) {
+                forwarder.forward(result.conflicted().stream().map(latestRecords::get).toList(),
+                    new ConflictException("%d orders cannot take their payment result".formatted(result.conflicts())));
+                ordersMetrics.recordPaymentResults("conflict", result.conflicts());
+            }
+        }
+        ordersMetrics.recordPaymentResults("already_processed", alreadyProcessed);
+        ordersMetrics.recordPaymentResults("superseded", events.size() - alreadyProcessed - latest.size());
+        ordersMetrics.recordPaymentResults("unreadable", unreadable);
+        ordersMetrics.recordPaymentBatch(records.size(), System.nanoTime() - started);
+    }
+
+    private PaymentResultEvent read(ConsumerRecord<String, String> record) {
+        try {
+            return objectMapper.readValue(record.value(), PaymentResultEvent.class);
+        } catch (JsonProcessingException | IllegalArgumentException ex) {
+            log.warn("Skipping unreadable payment result at {}-{}@{}", record.topic(), record.partition(),
+                record.offset(), ex);
+            return null;
+        }
+    }
+}
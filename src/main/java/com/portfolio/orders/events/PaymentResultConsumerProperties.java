@@ -0,0 +1,107 @@
+package com.portfolio.orders.events;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "orders.payments.consumer")
+public record PaymentResultConsumerProperties(
+    Mode mode,
+    String topic,
+    String groupId,
+    int batchSize,
+    int concurrency,
+    Duration maxPollInterval,
+    Retry retry,
+    int parallelism
+) {
+
+    public PaymentResultConsumerProperties {
+        if (mode == null) {
+            mode = Mode.BATCH;
+        }
+        if (topic == null || topic.isBlank()) {
+            topic = "payment-results";
+        }
+        if (groupId == null || groupId.isBlank()) {
+            groupId = "orders-group";
+        }
+        if (batchSize <= 0) {
+            batchSize = 500;
+        }
+        if (concurrency <= 0) {
+            concurrency = 1;
+        }
+        if (maxPollInterval == null) {
+            maxPollInterval = Duration.ofMinutes(5);
+        }
+        if (retry == null) {
+            retry = new Retry(null, 0, null, 0, null, 0);
+        }
+        if (retry.topic() == null || retry.topic().isBlank()) {
+            retry = new Retry(topic + "-recovery", retry.attempts(), retry.initialDelay(), retry.multiplier(),
+                retry.maxDelay(), retry.partitions());
+        }
+        if (parallelism <= 0) {
+            parallelism = 8;
+        }
+    }
+
+    /**
+     * Parallel mode holds a connection per running lane on every container thread, {@code parallelism} times
+     * {@code concurrency} in all. Refuses a setting that would leave no connection of the primary pool for the rest
+     * of the service, where lanes would otherwise queue on the pool behind each other and behind HTTP requests.
+     */
+    public void requireLanesFit(int connectionPoolSize) {
+        int lanes = parallelism * concurrency;
+        if (lanes >= connectionPoolSize) {
+            throw new IllegalStateException(("orders.payments.consumer.parallelism (%d) x concurrency (%d) needs %d "
+                + "connections, but the primary pool only has %d").formatted(parallelism, concurrency, lanes,
+                connectionPoolSize));
+        }
+    }
+
+    /**
+     * Results the main listener could not apply are parked on {@code topic} and retried from there with exponential
+     * backoff on delay topics; {@code attempts} counts the first try on {@code topic}, after which the record goes to
+     * the dead-letter topic.
+     */
+    public record Retry(
+        String topic,
+        int attempts,
+        Duration initialDelay,
+        double multiplier,
+        Duration maxDelay,
+        int partitions
+    ) {
+
+        public Retry {
+            if (attempts <= 0) {
+                attempts = 5;
+            }
+            if (initialDelay == null) {
+                initialDelay = Duration.ofSeconds(1);
+            }
+            if (multiplier < 1) {
+                multiplier = 4;
+            }
+            if (maxDelay == null) {
+                maxDelay = Duration.ofMinutes(5);
+            }
+            if (partitions <= 0) {
+                partitions = 3;
+            }
+        }
+    }
+
+    public enum Mode {
+        /** One record per listener call and transaction. */
+        RECORD,
+        /** A whole poll per listener call, applied in one transaction. */
+        BATCH,
+        /**
+         * A whole poll per listener call, split into one lane per order. Up to {@code parallelism} lanes run at once,
+         * each applying its order's results in offset order, one transaction per result.
+         */
+        PARALLEL
+    }
+}
@@ -0,0 +1,54 @@
+package com.portfolio.orders.events;
+
+import com.portfolio.orders.metrics.OrdersMetrics;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Parks payment results the main listener could not apply on the recovery topic, so the main partitions keep moving
+ * while {@link PaymentResultRecoveryListener} retries them with backoff.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentResultForwarder {
+
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final PaymentResultConsumerProperties properties;
+    private final OrdersMetrics ordersMetrics;
+
+    /**
+     * Returns once the broker acknowledged every parked record. Throws otherwise, so the container redelivers the
+     * records from the main topic instead of committing past them.
+     */
+    public void forward(List<ConsumerRecord<String, String>> records, Exception cause) {
+        String topic = properties.retry().topic();
+        log.warn("Parking {} payment results on {}: {}", records.size(), topic, cause.toString());
+        CompletableFuture<?>[] sends = records.stream()
+            .map(record -> kafkaTemplate.send(new ProducerRecord<>(topic, null, record.key(),
+                record.value().getBytes(StandardCharsets.UTF_8), record.headers())))
+            .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(sends).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while parking payment results on " + topic, ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new KafkaException("Could not park payment results on " + topic, ex);
+        }
+        ordersMetrics.recordPaymentStage("main", "forwarded", records.size());
+    }
+}
@@ -1,26 +1,58 @@
 package com.portfolio.orders.events;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.orders.metrics.OrdersMetrics;
 import com.portfolio.orders.service.OrderService;
+import com.portfolio.orders.service.ProcessedPayments;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(prefix = "orders.payments.consumer", name = "mode", havingValue = "record")
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentResultListener {
 
     private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final PaymentResultForwarder forwarder;
+    private final OrdersMetrics ordersMetrics;
+    private final ProcessedPayments processedPayments;
 
-    @KafkaListener(topics = "payment-results", groupId = "orders-group")
-    public void handlePaymentResult(PaymentResultEvent event) {
+    @KafkaListener(
+        topics = "${orders.payments.consumer.topic:payment-results}",
+        groupId = "${orders.payments.consumer.group-id:orders-group}",
+        concurrency = "${orders.payments.consumer.concurrency:1}"
+    )
+    public void handlePaymentResult(ConsumerRecord<String, String> record) {
+        PaymentResultEvent event;
+        try {
+            event = objectMapper.readValue(record.value(), PaymentResultEvent.class);
+        } catch (JsonProcessingException | IllegalArgumentException ex) {
+            log.warn("Skipping unreadable payment result at {}-{}@{}", record.topic(), record.partition(),
+                record.offset(), ex);
+            ordersMetrics.recordPaymentResults("unreadable", 1);
+            return;
+        }
+        if (processedPayments.isProcessed(event.paymentId())) {
+            log.debug("Skipping already processed payment {} for order {}", event.paymentId(), event.orderId());
+            ordersMetrics.recordPaymentResults("already_processed", 1);
+            return;
+        }
         log.info("Received payment result for order: {}", event.orderId());
         boolean success = "AUTHORIZED".equals(event.status());
         try {
-            orderService.handlePaymentResult(event.orderId(), success);
-        } catch (Exception e) {
-            log.error("Failed to update order status for order: {}", event.orderId(), e);
+            orderService.handlePaymentResult(event.orderId(), event.paymentId(), success);
+            ordersMetrics.recordPaymentResults("applied", 1);
+        } catch (RuntimeException e) {
+            forwarder.forward(List.of(record), e);
+            ordersMetrics.recordPaymentResults("forwarded", 1);
         }
     }
 }
@@ -0,0 +1,256 @@
+package com.portfolio.orders.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.orders.metrics.OrdersMetrics;
+import com.portfolio.orders.service.OrderService;
+import com.portfolio.orders.service.ProcessedPayments;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes payment results a poll at a time and applies them on {@code parallelism} worker threads, one lane per
+ * order. Results for the same order run one after another in offset order, while unrelated orders proceed side by
+ * side, so a backlog drains faster than the partition count alone allows. The listener returns, and the container
+ * commits the poll, only once every lane has finished.
+ *
+ * <p>When a result fails, it and the results queued behind it in its lane are parked on the recovery topic together,
+ * which keeps them in order there; the other lanes are unaffected. If parking fails too, the poll fails and is
+ * redelivered; the results its lanes already applied or parked are remembered by offset and skipped on redelivery,
+ * including those without a payment id, which the processed-payment check cannot recognise.
+ */
+@Component
+@ConditionalOnProperty(prefix = "orders.payments.consumer", name = "mode", havingValue = "parallel")
+@Slf4j
+public class PaymentResultParallelListener implements DisposableBean {
+
+    private static final Duration SHUTDOWN_GRACE = Duration.ofSeconds(30);
+
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final OrdersMetrics ordersMetrics;
+    private final PaymentResultForwarder forwarder;
+    private final ProcessedPayments processedPayments;
+    private final ExecutorService lanes;
+    private final long lagTtlMillis;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger activeLanes = new AtomicInteger();
+    private final Map<TopicPartition, PartitionLag> lag = new ConcurrentHashMap<>();
+    private final Set<Position> settledInFailedPolls = ConcurrentHashMap.newKeySet();
+
+    private record PendingResult(ConsumerRecord<String, String> record, PaymentResultEvent event) {
+    }
+
+    private record LaneResult(int applied, int forwarded) {
+    }
+
+    private record PartitionLag(long records, long updatedAt) {
+    }
+
+    private record Position(TopicPartition partition, long offset) {
+
+        static Position of(ConsumerRecord<?, ?> record) {
+            return new Position(new TopicPartition(record.topic(), record.partition()), record.offset());
+        }
+    }
+
+    public PaymentResultParallelListener(
+        OrderService orderService,
+        ObjectMapper objectMapper,
+        OrdersMetrics ordersMetrics,
+        PaymentResultForwarder forwarder,
+        ProcessedPayments processedPayments,
+        PaymentResultConsumerProperties properties,
+        @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+        MeterRegistry registry
+    ) {
+        properties.requireLanesFit(connectionPoolSize);
+        this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.ordersMetrics = ordersMetrics;
+        this.forwarder = forwarder;
+        this.processedPayments = processedPayments;
+        AtomicInteger threads = new AtomicInteger();
+        this.lanes = Executors.newFixedThreadPool(properties.parallelism(), task -> {
+            Thread thread = new Thread(task, "orders-payment-lane-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lagTtlMillis = properties.maxPollInterval().toMillis();
+        Gauge.builder("orders_payment_in_flight", inFlight, AtomicInteger::get)
+            .description("Payment results handed to a lane and not yet applied or parked")
+            .register(registry);
+        Gauge.builder("orders_payment_lanes_active", activeLanes, AtomicInteger::get)
+            .description("Orders whose payment results are being applied right now")
+            .register(registry);
+        Gauge.builder("orders_payment_consumer_lag", this, PaymentResultParallelListener::currentLag)
+            .description("Payment results behind the end of the partitions this instance consumes")
+            .register(registry);
+    }
+
+    @KafkaListener(
+        topics = "${orders.payments.consumer.topic:payment-results}",
+        groupId = "${orders.payments.consumer.group-id:orders-group}",
+        containerFactory = "paymentResultBatchContainerFactory"
+    )
+    public void handlePaymentResults(List<ConsumerRecord<String, String>> records, Consumer<?, ?> consumer) {
+        long started = System.nanoTime();
+        List<PendingResult> pending = new ArrayList<>(records.size());
+        int unreadable = 0;
+        for (ConsumerRecord<String, String> record : records) {
+            PaymentResultEvent event = read(record);
+            if (event == null || event.orderId() == null) {
+                unreadable++;
+            } else {
+                pending.add(new PendingResult(record, event));
+            }
+        }
+        Set<String> processed = processedPayments.processed(pending.stream()
+            .map(result -> result.event().paymentId())
+            .filter(Objects::nonNull)
+            .toList());
+
+        Map<UUID, List<PendingResult>> byOrder = new LinkedHashMap<>();
+        Set<String> queued = new HashSet<>();
+        int alreadyProcessed = 0;
+        for (PendingResult result : pending) {
+            String paymentId = result.event().paymentId();
+            if (settledInFailedPolls.remove(Position.of(result.record()))
+                || paymentId != null && (processed.contains(paymentId) || !queued.add(paymentId))) {
+                alreadyProcessed++;
+                continue;
+            }
+            byOrder.computeIfAbsent(result.event().orderId(), orderId -> new ArrayList<>()).add(result);
+        }
+
+        inFlight.addAndGet(pending.size() - alreadyProcessed);
+        Set<Position> settled = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<LaneResult>> running = byOrder.values().stream()
+            .map(lane -> CompletableFuture.supplyAsync(() -> drain(lane, settled), lanes))
+            .toList();
+        int applied = 0;
+        int forwarded = 0;
+        RuntimeException failure = null;
+        for (CompletableFuture<LaneResult> lane : running) {
+            try {
+                LaneResult result = lane.join();
+                applied += result.applied();
+                forwarded += result.forwarded();
+            } catch (CompletionException ex) {
+                failure = ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+        recordLag(consumer);
+        if (failure != null) {
+            // a lane could not park its results; fail the poll, after every lane stopped, so it is redelivered
+            settledInFailedPolls.addAll(settled);
+            throw failure;
+        }
+        Set<TopicPartition> polled = new HashSet<>();
+        records.forEach(record -> polled.add(new TopicPartition(record.topic(), record.partition())));
+        settledInFailedPolls.removeIf(position -> polled.contains(position.partition()));
+        ordersMetrics.recordPaymentResults("applied", applied);
+        ordersMetrics.recordPaymentResults("forwarded", forwarded);
+        ordersMetrics.recordPaymentResults("already_processed", alreadyProcessed);
+        ordersMetrics.recordPaymentResults("unreadable", unreadable);
+        ordersMetrics.recordPaymentBatch(records.size(), System.nanoTime() - started);
+    }
+
+    /**
+     * Applies one order's results in turn, adding each applied or parked result to {@code settled}.
+     */
+    private LaneResult drain(List<PendingResult> lane, Set<Position> settled) {
+        activeLanes.incrementAndGet();
+        int applied = 0;
+        try {
+            for (int i = 0; i < lane.size(); i++) {
+                PaymentResultEvent event = lane.get(i).event();
+                try {
+                    orderService.handlePaymentResult(event.orderId(), event.paymentId(),
+                        "AUTHORIZED".equals(event.status()));
+                } catch (RuntimeException ex) {
+                    List<ConsumerRecord<String, String>> rest = lane.subList(i, lane.size()).stream()
+                        .map(PendingResult::record)
+                        .toList();
+                    try {
+                        forwarder.forward(rest, ex);
+                    } finally {
+                        inFlight.addAndGet(-rest.size());
+                    }
+                    rest.forEach(record -> settled.add(Position.of(record)));
+                    return new LaneResult(applied, rest.size());
+                }
+                settled.add(Position.of(lane.get(i).record()));
+                inFlight.decrementAndGet();
+                applied++;
+            }
+            return new LaneResult(applied, 0);
+        } finally {
+            activeLanes.decrementAndGet();
+        }
+    }
+
+    private void recordLag(Consumer<?, ?> consumer) {
+        long now = System.currentTimeMillis();
+        for (TopicPartition partition : consumer.assignment()) {
+            consumer.currentLag(partition).ifPresent(records -> lag.put(partition, new PartitionLag(records, now)));
+        }
+    }
+
+    /**
+     * Sums the lag last seen per partition. Partitions not reported for longer than the poll interval are assumed to
+     * have moved to another consumer and are dropped.
+     */
+    private double currentLag() {
+        long cutoff = System.currentTimeMillis() - lagTtlMillis;
+        lag.values().removeIf(partition -> partition.updatedAt() < cutoff);
+        return lag.values().stream().mapToLong(PartitionLag::records).sum();
+    }
+
+    private PaymentResultEvent read(ConsumerRecord<String, String> record) {
+        try {
+            return objectMapper.readValue(record.value(), PaymentResultEvent.class);
+        } catch (JsonProcessingException | IllegalArgumentException ex) {
+            log.warn("Skipping unreadable payment result at {}-{}@{}", record.topic(), record.partition(),
+                record.offset(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Lets running lanes finish their current transactions before the context closes the data source.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        lanes.shutdown();
+        if (!lanes.awaitTermination(SHUTDOWN_GRACE.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Payment result lanes still busy after {}, interrupting them", SHUTDOWN_GRACE);
+            lanes.shutdownNow();
+        }
+    }
+}
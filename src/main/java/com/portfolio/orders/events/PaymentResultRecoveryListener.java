@@ -0,0 +1,111 @@
+package com.portfolio.orders.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.orders.entity.PaymentDeadLetterEntity;
+import com.portfolio.orders.metrics.OrdersMetrics;
+import com.portfolio.orders.repository.PaymentDeadLetterRepository;
+import com.portfolio.orders.service.OrderService;
+import com.portfolio.orders.service.ProcessedPayments;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retries parked payment results one at a time. Failures are rethrown so the retry topics configured in
+ * {@code PaymentConsumerConfig} redeliver them after a growing delay, without holding up the main topic; results that
+ * run out of attempts, or cannot succeed at all, are stored by {@link #handleDeadLetter} for a later replay.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentResultRecoveryListener {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final PaymentDeadLetterRepository deadLetterRepository;
+    private final PaymentResultConsumerProperties properties;
+    private final OrdersMetrics ordersMetrics;
+    private final ProcessedPayments processedPayments;
+
+    @KafkaListener(
+        topics = "${orders.payments.consumer.retry.topic:payment-results-recovery}",
+        groupId = "${orders.payments.consumer.group-id:orders-group}",
+        containerFactory = "paymentResultRecoveryContainerFactory"
+    )
+    public void handlePaymentResult(ConsumerRecord<String, byte[]> record) {
+        String stage = stage(record.topic());
+        PaymentResultEvent event = read(record);
+        if (processedPayments.isProcessed(event.paymentId())) {
+            ordersMetrics.recordPaymentStage(stage, "already_processed", 1);
+            return;
+        }
+        try {
+            orderService.handlePaymentResult(event.orderId(), event.paymentId(), "AUTHORIZED".equals(event.status()));
+        } catch (RuntimeException ex) {
+            ordersMetrics.recordPaymentStage(stage, "failed", 1);
+            throw ex;
+        }
+        ordersMetrics.recordPaymentStage(stage, "applied", 1);
+    }
+
+    public void handleDeadLetter(ConsumerRecord<String, byte[]> record) {
+        String payload = new String(record.value(), StandardCharsets.UTF_8);
+        UUID orderId = null;
+        try {
+            orderId = objectMapper.readValue(record.value(), PaymentResultEvent.class).orderId();
+        } catch (IOException | IllegalArgumentException ex) {
+            log.debug("Dead-lettered payment result is unreadable", ex);
+        }
+        String error = header(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE);
+        String sourceTopic = header(record, KafkaHeaders.DLT_ORIGINAL_TOPIC);
+        deadLetterRepository.save(PaymentDeadLetterEntity.builder()
+            .orderId(orderId)
+            .messageKey(record.key())
+            .payload(payload)
+            .sourceTopic(sourceTopic != null ? sourceTopic : record.topic())
+            .error(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error)
+            .failedAt(OffsetDateTime.now())
+            .build());
+        ordersMetrics.recordPaymentStage("dlt", "stored", 1);
+        log.error("Payment result for order {} dead-lettered: {}", orderId, error);
+    }
+
+    private PaymentResultEvent read(ConsumerRecord<String, byte[]> record) {
+        PaymentResultEvent event;
+        try {
+            event = objectMapper.readValue(record.value(), PaymentResultEvent.class);
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new MessageConversionException("Unreadable payment result at %s-%d@%d"
+                .formatted(record.topic(), record.partition(), record.offset()), ex);
+        }
+        if (event.orderId() == null) {
+            throw new MessageConversionException("Payment result without an order id at %s-%d@%d"
+                .formatted(record.topic(), record.partition(), record.offset()));
+        }
+        return event;
+    }
+
+    private String stage(String topic) {
+        String recoveryTopic = properties.retry().topic();
+        if (topic.equals(recoveryTopic)) {
+            return "recovery";
+        }
+        return topic.startsWith(recoveryTopic + "-") ? topic.substring(recoveryTopic.length() + 1) : topic;
+    }
+
+    private static String header(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
@@ -27,6 +27,16 @@ public class GlobalExceptionHandler {
         return problem(HttpStatus.CONFLICT, "Conflict", ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ProblemDetail handleInvalidCursor(InvalidCursorException ex) {
+        return problem(HttpStatus.BAD_REQUEST, "Invalid cursor", ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidExportRequestException.class)
+    public ProblemDetail handleInvalidExportRequest(InvalidExportRequestException ex) {
+        return problem(HttpStatus.BAD_REQUEST, "Invalid export request", ex.getMessage());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ProblemDetail handleMethodArgumentNotValid(MethodArgumentNotValidException ex) {
         ProblemDetail problem = problem(HttpStatus.BAD_REQUEST, "Validation error", "Payload validation failed");
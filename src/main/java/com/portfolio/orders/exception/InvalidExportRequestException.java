@@ -0,0 +1,8 @@
+package com.portfolio.orders.exception;
+
+public class InvalidExportRequestException extends RuntimeException {
+
+    public InvalidExportRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,123 @@
+package com.portfolio.orders.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * RFC 4180 style CSV. With items every item becomes its own row repeating the order columns; an order without
+ * items still gets a single row with the item columns left empty.
+ */
+class CsvOrderExportWriter implements OrderExportWriter {
+
+    private static final String ORDER_HEADER =
+        "id,user_id,user_full_name,user_email,status,currency,total_amount,notes,created_at,updated_at";
+    private static final String ITEM_HEADER = ",item_id,product_id,quantity,price,title";
+
+    private final Writer writer;
+    private final boolean includeItems;
+    private OrderRow current;
+    private boolean currentHasItems;
+
+    CsvOrderExportWriter(Writer writer, boolean includeItems) throws IOException {
+        this.writer = writer;
+        this.includeItems = includeItems;
+        writer.write(ORDER_HEADER);
+        if (includeItems) {
+            writer.write(ITEM_HEADER);
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void startOrder(OrderRow order) throws IOException {
+        current = order;
+        currentHasItems = false;
+        if (!includeItems) {
+            writeOrderColumns(order);
+            writer.write("\r\n");
+        }
+    }
+
+    @Override
+    public void item(ItemRow item) throws IOException {
+        currentHasItems = true;
+        writeOrderColumns(current);
+        writer.write(',');
+        field(item.id());
+        writer.write(',');
+        field(item.productId());
+        writer.write(',');
+        field(item.quantity());
+        writer.write(',');
+        field(item.price() != null ? item.price().toPlainString() : null);
+        writer.write(',');
+        field(item.title());
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void endOrder() throws IOException {
+        if (includeItems && !currentHasItems) {
+            writeOrderColumns(current);
+            writer.write(",,,,,\r\n");
+        }
+        current = null;
+    }
+
+    @Override
+    public void finish() {
+        // nothing buffered beyond the underlying writer
+    }
+
+    private void writeOrderColumns(OrderRow order) throws IOException {
+        field(order.id());
+        writer.write(',');
+        field(order.userId());
+        writer.write(',');
+        field(order.userFullName());
+        writer.write(',');
+        field(order.userEmail());
+        writer.write(',');
+        field(order.status());
+        writer.write(',');
+        field(order.currency());
+        writer.write(',');
+        field(order.totalAmount() != null ? order.totalAmount().toPlainString() : null);
+        writer.write(',');
+        field(order.notes());
+        writer.write(',');
+        field(order.createdAt());
+        writer.write(',');
+        field(order.updatedAt());
+    }
+
+    private void field(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (!needsQuoting(text)) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuoting(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,83 @@
+package com.portfolio.orders.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One JSON object per line, items nested as an array when requested.
+ */
+class NdjsonOrderExportWriter implements OrderExportWriter {
+
+    private final JsonGenerator generator;
+    private final boolean includeItems;
+
+    NdjsonOrderExportWriter(ObjectMapper objectMapper, Writer writer, boolean includeItems) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(writer);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        this.includeItems = includeItems;
+    }
+
+    @Override
+    public void startOrder(OrderRow order) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", text(order.id()));
+        generator.writeStringField("userId", text(order.userId()));
+        generator.writeStringField("userFullName", order.userFullName());
+        generator.writeStringField("userEmail", order.userEmail());
+        generator.writeStringField("status", order.status());
+        generator.writeStringField("currency", order.currency());
+        generator.writeFieldName("totalAmount");
+        generator.writeNumber(order.totalAmount());
+        generator.writeStringField("notes", order.notes());
+        generator.writeStringField("createdAt", text(order.createdAt()));
+        generator.writeStringField("updatedAt", text(order.updatedAt()));
+        if (includeItems) {
+            generator.writeArrayFieldStart("items");
+        }
+    }
+
+    @Override
+    public void item(ItemRow item) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", text(item.id()));
+        generator.writeStringField("productId", text(item.productId()));
+        generator.writeFieldName("quantity");
+        if (item.quantity() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(item.quantity());
+        }
+        generator.writeFieldName("price");
+        generator.writeNumber(item.price());
+        generator.writeStringField("title", item.title());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void endOrder() throws IOException {
+        if (includeItems) {
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.writeRaw('\n');
+        generator.close();
+    }
+
+    private static String text(UUID value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static String text(Instant value) {
+        return value != null ? value.toString() : null;
+    }
+}
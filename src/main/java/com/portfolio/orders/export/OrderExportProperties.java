@@ -0,0 +1,23 @@
+package com.portfolio.orders.export;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "orders.export")
+public record OrderExportProperties(
+    int fetchSize,
+    int flushEveryOrders,
+    int bufferSize
+) {
+
+    public OrderExportProperties {
+        if (fetchSize <= 0) {
+            fetchSize = 1000;
+        }
+        if (flushEveryOrders <= 0) {
+            flushEveryOrders = 500;
+        }
+        if (bufferSize <= 0) {
+            bufferSize = 64 * 1024;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.portfolio.orders.export;
+
+import com.portfolio.orders.entity.OrderStatus;
+import com.portfolio.orders.exception.InvalidExportRequestException;
+import java.time.Instant;
+
+/**
+ * Filters of an export run. {@code from} is inclusive and {@code to} exclusive, both optional.
+ */
+public record OrderExportQuery(
+    Instant from,
+    Instant to,
+    OrderStatus status,
+    boolean includeItems
+) {
+
+    public OrderExportQuery {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidExportRequestException("Export range start must be before its end");
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.portfolio.orders.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.orders.export.OrderExportWriter.ItemRow;
+import com.portfolio.orders.export.OrderExportWriter.OrderRow;
+import com.portfolio.orders.metrics.OrdersMetrics;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams orders straight from a forward-only JDBC cursor into an export writer. Rows never enter a persistence
+ * context and at most one order is held in memory, so the cost of an export does not grow with the table. On MySQL
+ * the fetch size only turns into a server-side cursor because the connection URL sets {@code useCursorFetch=true}.
+ */
+@Service
+@Slf4j
+public class OrderExportService {
+
+    private static final String ORDER_COLUMNS = "o.id, o.user_id, o.user_full_name, o.user_email, o.status, "
+        + "o.currency, o.total_amount, o.notes, o.created_at, o.updated_at";
+    private static final String ITEM_COLUMNS = ", i.id AS item_id, i.product_id, i.quantity, i.price, i.title";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final OrderExportProperties properties;
+    private final OrdersMetrics ordersMetrics;
+
+    public OrderExportService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        OrderExportProperties properties,
+        OrdersMetrics ordersMetrics
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.ordersMetrics = ordersMetrics;
+    }
+
+    /**
+     * Writes every order matching the query to {@code out} and returns how many orders were exported. The stream is
+     * flushed periodically but not closed.
+     */
+    public long export(OrderExportQuery query, OrderExportFormat format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), properties.bufferSize());
+        OrderExportWriter exportWriter = format == OrderExportFormat.CSV
+            ? new CsvOrderExportWriter(writer, query.includeItems())
+            : new NdjsonOrderExportWriter(objectMapper, writer, query.includeItems());
+        ExportRowHandler handler = new ExportRowHandler(exportWriter, writer, query.includeItems());
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                jdbcTemplate.query(connection -> prepare(connection, query), handler));
+        } catch (UncheckedIOException ex) {
+            log.warn("Order export aborted after {} orders: {}", handler.exported, ex.getCause().getMessage());
+            throw ex.getCause();
+        }
+        handler.complete();
+        exportWriter.finish();
+        writer.flush();
+        ordersMetrics.recordExport(format.name().toLowerCase(Locale.ROOT), handler.exported, System.nanoTime() - started);
+        return handler.exported;
+    }
+
+    private PreparedStatement prepare(Connection connection, OrderExportQuery query) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT ").append(ORDER_COLUMNS);
+        if (query.includeItems()) {
+            sql.append(ITEM_COLUMNS);
+        }
+        sql.append(" FROM orders o");
+        if (query.includeItems()) {
+            sql.append(" LEFT JOIN order_items i ON i.order_id = o.id");
+        }
+        sql.append(" WHERE 1 = 1");
+        if (query.from() != null) {
+            sql.append(" AND o.created_at >= ?");
+        }
+        if (query.to() != null) {
+            sql.append(" AND o.created_at < ?");
+        }
+        if (query.status() != null) {
+            sql.append(" AND o.status = ?");
+        }
+        // Items of one order must arrive together; (created_at, id) is covered by the keyset indexes.
+        sql.append(" ORDER BY o.created_at, o.id");
+
+        PreparedStatement statement = connection.prepareStatement(
+            sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(properties.fetchSize());
+        int index = 1;
+        if (query.from() != null) {
+            statement.setTimestamp(index++, Timestamp.from(query.from()));
+        }
+        if (query.to() != null) {
+            statement.setTimestamp(index++, Timestamp.from(query.to()));
+        }
+        if (query.status() != null) {
+            statement.setString(index, query.status().name());
+        }
+        return statement;
+    }
+
+    private final class ExportRowHandler implements RowCallbackHandler {
+
+        private final OrderExportWriter exportWriter;
+        private final Writer writer;
+        private final boolean includeItems;
+        private UUID currentOrderId;
+        private long exported;
+
+        private ExportRowHandler(OrderExportWriter exportWriter, Writer writer, boolean includeItems) {
+            this.exportWriter = exportWriter;
+            this.writer = writer;
+            this.includeItems = includeItems;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                UUID orderId = uuid(rs, "id");
+                if (!orderId.equals(currentOrderId)) {
+                    if (currentOrderId != null) {
+                        endOrder();
+                    }
+                    currentOrderId = orderId;
+                    exportWriter.startOrder(orderRow(orderId, rs));
+                }
+                if (includeItems && rs.getObject("item_id") != null) {
+                    exportWriter.item(itemRow(rs));
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void complete() throws IOException {
+            if (currentOrderId != null) {
+                endOrder();
+                currentOrderId = null;
+            }
+        }
+
+        private void endOrder() throws IOException {
+            exportWriter.endOrder();
+            exported++;
+            if (exported % properties.flushEveryOrders() == 0) {
+                writer.flush();
+            }
+        }
+    }
+
+    private static OrderRow orderRow(UUID id, ResultSet rs) throws SQLException {
+        return new OrderRow(
+            id,
+            uuid(rs, "user_id"),
+            rs.getString("user_full_name"),
+            rs.getString("user_email"),
+            rs.getString("status"),
+            rs.getString("currency"),
+            rs.getBigDecimal("total_amount"),
+            rs.getString("notes"),
+            instant(rs.getTimestamp("created_at")),
+            instant(rs.getTimestamp("updated_at"))
+        );
+    }
+
+    private static ItemRow itemRow(ResultSet rs) throws SQLException {
+        return new ItemRow(
+            uuid(rs, "item_id"),
+            uuid(rs, "product_id"),
+            rs.getObject("quantity", Integer.class),
+            rs.getBigDecimal("price"),
+            rs.getString("title")
+        );
+    }
+
+    private static UUID uuid(ResultSet rs, String column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof UUID uuid) {
+            return uuid;
+        }
+        if (value instanceof byte[] bytes && bytes.length == 16) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+        return null;
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.portfolio.orders.export;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Receives exported rows in cursor order. Items always arrive between the {@link #startOrder} and
+ * {@link #endOrder} of the order they belong to, so implementations never need to buffer more than one order.
+ */
+interface OrderExportWriter {
+
+    void startOrder(OrderRow order) throws IOException;
+
+    void item(ItemRow item) throws IOException;
+
+    void endOrder() throws IOException;
+
+    void finish() throws IOException;
+
+    record OrderRow(
+        UUID id,
+        UUID userId,
+        String userFullName,
+        String userEmail,
+        String status,
+        String currency,
+        BigDecimal totalAmount,
+        String notes,
+        Instant createdAt,
+        Instant updatedAt
+    ) {
+    }
+
+    record ItemRow(
+        UUID id,
+        UUID productId,
+        Integer quantity,
+        BigDecimal price,
+        String title
+    ) {
+    }
+}
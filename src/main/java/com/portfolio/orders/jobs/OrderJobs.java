@@ -1,7 +1,9 @@
 package com.portfolio.orders.jobs;
 
 import com.portfolio.orders.entity.OrderStatus;
-import com.portfolio.orders.repository.OrderRepository;
+import com.portfolio.orders.metrics.OrdersMetrics;
+import com.portfolio.orders.service.OrderStatusCounter;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,14 +16,30 @@ public class OrderJobs {
 
     private static final Logger log = LoggerFactory.getLogger(OrderJobs.class);
 
-    private final OrderRepository repository;
+    private final OrderStatusCounter statusCounter;
+    private final OrdersMetrics ordersMetrics;
 
     /**
-     * Emits metrics about pending orders every 15 minutes. Useful talking point for observability.
+     * Emits metrics about pending orders every 15 minutes. Reads the status counters instead of the orders table.
      */
     @Scheduled(cron = "0 */15 * * * *")
     public void logPendingOrders() {
-        long pending = repository.countByStatus(OrderStatus.PENDING);
+        long pending = statusCounter.count(OrderStatus.PENDING);
+        ordersMetrics.recordPendingBacklog(pending);
         log.info("Order backlog - pending orders: {}", pending);
     }
+
+    /**
+     * Recounts the orders table and corrects the status counters, e.g. after manual SQL fixes or a failed deploy.
+     */
+    @Scheduled(cron = "${orders.status-counts.reconcile-cron:0 30 * * * *}")
+    public void reconcileStatusCounts() {
+        Map<OrderStatus, Long> drift = statusCounter.reconcile();
+        if (drift.isEmpty()) {
+            log.debug("Order status counts are in sync");
+            return;
+        }
+        drift.forEach(ordersMetrics::recordStatusCountDrift);
+        log.warn("Corrected order status count drift: {}", drift);
+    }
 }
@@ -4,12 +4,17 @@ import com.portfolio.orders.entity.OrderEntity;
 import com.portfolio.orders.entity.OrderItemEntity;
 import com.portfolio.orders.entity.OrderStatus;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.math.BigDecimal;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -20,6 +25,17 @@ public class OrdersMetrics {
     private final Counter returningCustomerCounter;
     private final Map<String, Counter> revenueByCurrency = new ConcurrentHashMap<>();
     private final Map<UUID, Counter> productQuantityCounters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> createStageTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> connectionHoldTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> exportTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> exportedOrderCounters = new ConcurrentHashMap<>();
+    private final Map<OrderStatus, Counter> statusCountDriftCounters = new EnumMap<>(OrderStatus.class);
+    private final AtomicLong pendingBacklog = new AtomicLong();
+    private final Map<String, Counter> paymentResultCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> paymentStageCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+    private final Timer paymentBatchTimer;
+    private final DistributionSummary paymentBatchRecords;
     private final MeterRegistry registry;
 
     public OrdersMetrics(MeterRegistry registry) {
@@ -41,6 +57,25 @@ public class OrdersMetrics {
             .tag("segment", "returning")
             .description("Orders placed by returning customers")
             .register(registry);
+        for (OrderStatus status : OrderStatus.values()) {
+            statusCountDriftCounters.put(
+                status,
+                Counter.builder("orders_status_count_drift")
+                    .tag("status", status.name())
+                    .description("Corrections applied to the status counters by reconciliation")
+                    .register(registry)
+            );
+        }
+        this.paymentBatchTimer = Timer.builder("orders_payment_batch_duration")
+            .description("Time to apply one polled batch of payment results")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.paymentBatchRecords = DistributionSummary.builder("orders_payment_batch_records")
+            .description("Payment result records per polled batch")
+            .register(registry);
+        Gauge.builder("orders_backlog_pending", pendingBacklog, AtomicLong::get)
+            .description("Orders waiting in PENDING, read from the status counters")
+            .register(registry);
     }
 
     public void trackNewOrder(OrderEntity entity, boolean isNewCustomer) {
@@ -54,6 +89,104 @@ public class OrdersMetrics {
         statusCounters.get(status).increment();
     }
 
+    public void recordCreateStage(String stage, long elapsedNanos) {
+        Timer timer = createStageTimers.computeIfAbsent(
+            stage,
+            key -> Timer.builder("orders_create_stage")
+                .tag("stage", key)
+                .description("Latency of each order creation stage")
+                .publishPercentileHistogram()
+                .register(registry)
+        );
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordConnectionHold(String operation, long elapsedNanos) {
+        Timer timer = connectionHoldTimers.computeIfAbsent(
+            operation,
+            key -> Timer.builder("orders_db_connection_hold")
+                .tag("operation", key)
+                .description("Time a write operation keeps its database connection checked out")
+                .publishPercentileHistogram()
+                .register(registry)
+        );
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordExport(String format, long exportedOrders, long elapsedNanos) {
+        exportTimers.computeIfAbsent(
+            format,
+            key -> Timer.builder("orders_export_duration")
+                .tag("format", key)
+                .description("Duration of completed order exports")
+                .register(registry)
+        ).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        exportedOrderCounters.computeIfAbsent(
+            format,
+            key -> Counter.builder("orders_export_orders")
+                .tag("format", key)
+                .description("Orders written by exports")
+                .register(registry)
+        ).increment(exportedOrders);
+    }
+
+    public void recordPaymentBatch(int records, long elapsedNanos) {
+        paymentBatchRecords.record(records);
+        paymentBatchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPaymentResults(String outcome, long count) {
+        if (count == 0) {
+            return;
+        }
+        paymentResultCounters.computeIfAbsent(
+            outcome,
+            key -> Counter.builder("orders_payment_results")
+                .tag("outcome", key)
+                .description("Payment result records consumed, by outcome")
+                .register(registry)
+        ).increment(count);
+    }
+
+    /**
+     * Payment results moving through the recovery path: {@code stage} is {@code main}, {@code recovery}, a delay
+     * topic such as {@code retry-1}, {@code dlt} or {@code replay}.
+     */
+    public void recordPaymentStage(String stage, String outcome, long count) {
+        if (count == 0) {
+            return;
+        }
+        paymentStageCounters.computeIfAbsent(
+            stage + ':' + outcome,
+            key -> Counter.builder("orders_payment_stage")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .description("Payment results per retry stage and outcome")
+                .register(registry)
+        ).increment(count);
+    }
+
+    public void recordCoalesced(String destination, long count) {
+        if (count == 0) {
+            return;
+        }
+        coalescedCounters.computeIfAbsent(
+            destination,
+            key -> Counter.builder("orders_outbox_coalesced")
+                .tag("destination", key)
+                .description("Held outbox messages replaced by a newer message for the same order")
+                .register(registry)
+        ).increment(count);
+    }
+
+    public void recordPendingBacklog(long pending) {
+        pendingBacklog.set(pending);
+    }
+
+    public void recordStatusCountDrift(OrderStatus status, long correction) {
+        statusCountDriftCounters.get(status).increment(Math.abs(correction));
+    }
+
     private void incrementCustomerSegment(boolean isNewCustomer) {
         if (isNewCustomer) {
             newCustomerCounter.increment();
@@ -0,0 +1,99 @@
+package com.portfolio.orders.repository;
+
+import com.portfolio.orders.entity.OrderOutboxEntity;
+import com.portfolio.orders.entity.OutboxDestination;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEntity, UUID> {
+
+    /**
+     * Oldest unsent messages that are due, locked for the caller's transaction. Rows locked by another relay instance
+     * are skipped instead of waited on (a lock timeout of -2 is Hibernate's SKIP LOCKED). A message also waits while
+     * an earlier message of its order and destination is being sent or backing off, so an order's messages are never
+     * relayed out of order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("""
+        select m from OrderOutboxEntity m
+        where m.sentAt is null
+          and (m.holdUntil is null or m.holdUntil <= :now)
+          and (m.nextAttemptAt is null or m.nextAttemptAt <= :now)
+          and not exists (
+            select e.id from OrderOutboxEntity e
+            where e.aggregateId = m.aggregateId and e.destination = m.destination
+              and e.sentAt is null and e.id < m.id and e.nextAttemptAt > :now)
+        order by m.id
+        """)
+    List<OrderOutboxEntity> lockUnsent(@Param("now") OffsetDateTime now, Pageable pageable);
+
+    /**
+     * Leases messages to the calling relay until {@code until}, so they can be sent after the claiming transaction
+     * committed without another instance picking them up.
+     */
+    @Modifying
+    @Query("update OrderOutboxEntity m set m.nextAttemptAt = :until where m.id in :ids")
+    int claim(@Param("ids") Collection<UUID> ids, @Param("until") OffsetDateTime until);
+
+    /**
+     * Gives back claimed messages that were not sent, so they are due again right away.
+     */
+    @Modifying
+    @Query("update OrderOutboxEntity m set m.nextAttemptAt = null where m.id in :ids and m.sentAt is null")
+    int release(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Unsent messages of the given orders that are still held back, so the relay has not picked them up yet.
+     */
+    @Query("""
+        select m from OrderOutboxEntity m
+        where m.destination = :destination and m.aggregateId in :aggregateIds
+          and m.sentAt is null and m.holdUntil > :now
+        """)
+    List<OrderOutboxEntity> findHeld(
+        @Param("destination") OutboxDestination destination,
+        @Param("aggregateIds") Collection<UUID> aggregateIds,
+        @Param("now") OffsetDateTime now
+    );
+
+    /**
+     * Deletes the given messages if they are still held. A hold that ran out since {@link #findHeld} leaves the
+     * message to the relay, so this never waits on a message being sent.
+     */
+    @Modifying
+    @Query("delete from OrderOutboxEntity m where m.id in :ids and m.sentAt is null and m.holdUntil > :now")
+    int deleteHeld(@Param("ids") Collection<UUID> ids, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("update OrderOutboxEntity m set m.sentAt = :sentAt where m.id in :ids")
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") OffsetDateTime sentAt);
+
+    @Modifying
+    @Query("""
+        update OrderOutboxEntity m set m.attempts = m.attempts + 1, m.nextAttemptAt = :retryAt
+        where m.id in :ids
+        """)
+    int recordFailedAttempt(@Param("ids") Collection<UUID> ids, @Param("retryAt") OffsetDateTime retryAt);
+
+    long countBySentAtIsNull();
+
+    Optional<OrderOutboxEntity> findFirstBySentAtIsNullOrderByIdAsc();
+
+    @Query("select m.id from OrderOutboxEntity m where m.sentAt < :cutoff")
+    List<UUID> findSentBefore(@Param("cutoff") OffsetDateTime cutoff, Pageable pageable);
+}
@@ -2,17 +2,118 @@ package com.portfolio.orders.repository;
 
 import com.portfolio.orders.entity.OrderEntity;
 import com.portfolio.orders.entity.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<OrderEntity, UUID>, JpaSpecificationExecutor<OrderEntity> {
 
+    Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     List<OrderEntity> findByUserId(UUID userId);
 
+    /**
+     * Loads an order together with its items in one joined select, for reads and writes that need the full basket.
+     */
+    @EntityGraph(attributePaths = "items")
+    Optional<OrderEntity> findWithItemsById(UUID id);
+
+    Page<OrderEntity> findByUserId(UUID userId, Pageable pageable);
+
+    Page<OrderEntity> findByUserIdAndStatus(UUID userId, OrderStatus status, Pageable pageable);
+
     boolean existsByUserId(UUID userId);
 
+    /**
+     * The users among {@code userIds} that already placed an order, for a whole batch of customers at once.
+     */
+    @Query("select distinct o.userId from OrderEntity o where o.userId in :userIds")
+    List<UUID> findUserIdsWithOrders(@Param("userIds") Collection<UUID> userIds);
+
+    @Query("select distinct o.userId from OrderEntity o")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UUID> streamDistinctUserIds();
+
     long countByStatus(OrderStatus status);
+
+    /**
+     * Moves an order to {@code target} only if it is currently in one of {@code predecessors}, bumping the version
+     * like a managed update would. The old status is kept in {@code previousStatus}; the assignment order matters
+     * on MySQL, which evaluates SET clauses left to right. Returns 0 when the order is missing or not eligible.
+     */
+    @Modifying
+    @Query("""
+        update OrderEntity o
+        set o.previousStatus = o.status, o.status = :target, o.updatedAt = :updatedAt,
+            o.version = coalesce(o.version, 0) + 1
+        where o.id = :id and o.status in :predecessors
+        """)
+    int transitionStatus(
+        @Param("id") UUID id,
+        @Param("target") OrderStatus target,
+        @Param("predecessors") Collection<OrderStatus> predecessors,
+        @Param("updatedAt") OffsetDateTime updatedAt
+    );
+
+    /**
+     * Bulk form of {@link #transitionStatus} for a batch of orders moving to the same status.
+     */
+    @Modifying
+    @Query("""
+        update OrderEntity o
+        set o.previousStatus = o.status, o.status = :target, o.updatedAt = :updatedAt,
+            o.version = coalesce(o.version, 0) + 1
+        where o.id in :ids and o.status in :predecessors
+        """)
+    int transitionStatuses(
+        @Param("ids") Collection<UUID> ids,
+        @Param("target") OrderStatus target,
+        @Param("predecessors") Collection<OrderStatus> predecessors,
+        @Param("updatedAt") OffsetDateTime updatedAt
+    );
+
+    @Query("""
+        select new com.portfolio.orders.repository.OrderStatusView(o.id, o.status, o.previousStatus, o.totalAmount)
+        from OrderEntity o where o.id = :id
+        """)
+    Optional<OrderStatusView> findStatusViewById(@Param("id") UUID id);
+
+    @Query("""
+        select new com.portfolio.orders.repository.OrderStatusView(o.id, o.status, o.previousStatus, o.totalAmount)
+        from OrderEntity o where o.id in :ids
+        """)
+    List<OrderStatusView> findStatusViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Full scan used only to reconcile the incrementally maintained status counts.
+     */
+    @Query("select o.status as status, count(o) as total from OrderEntity o group by o.status")
+    List<OrderStatusTotal> countGroupedByStatus();
+
+    /**
+     * Keyset page of orders, newest first. Seeks past {@code position} on the {@code (created_at, id)} index and
+     * reads one extra row to detect a next page, so it never counts the table.
+     */
+    default Window<OrderEntity> scrollNewestFirst(Specification<OrderEntity> filter, int limit, ScrollPosition position) {
+        return findBy(filter, query -> query.sortBy(NEWEST_FIRST).limit(limit).scroll(position));
+    }
 }
@@ -0,0 +1,31 @@
+package com.portfolio.orders.repository;
+
+import com.portfolio.orders.entity.OrderStatus;
+import com.portfolio.orders.entity.OrderStatusCountEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OrderStatusCountRepository
+    extends JpaRepository<OrderStatusCountEntity, OrderStatusCountEntity.Key> {
+
+    /**
+     * Adds {@code delta} to one slot in place and returns the number of rows touched, zero when the slot does not
+     * exist.
+     */
+    @Modifying
+    @Query("""
+        update OrderStatusCountEntity c set c.orderCount = c.orderCount + :delta
+        where c.status = :status and c.slot = :slot
+        """)
+    int increment(@Param("status") OrderStatus status, @Param("slot") int slot, @Param("delta") long delta);
+
+    @Query("select c.status as status, sum(c.orderCount) as total from OrderStatusCountEntity c group by c.status")
+    List<OrderStatusTotal> sumByStatus();
+
+    @Query("select coalesce(sum(c.orderCount), 0) from OrderStatusCountEntity c where c.status = :status")
+    long sumForStatus(@Param("status") OrderStatus status);
+}
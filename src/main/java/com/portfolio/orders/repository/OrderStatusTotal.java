@@ -0,0 +1,10 @@
+package com.portfolio.orders.repository;
+
+import com.portfolio.orders.entity.OrderStatus;
+
+public interface OrderStatusTotal {
+
+    OrderStatus getStatus();
+
+    long getTotal();
+}
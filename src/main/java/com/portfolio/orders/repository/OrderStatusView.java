@@ -0,0 +1,16 @@
+package com.portfolio.orders.repository;
+
+import com.portfolio.orders.entity.OrderStatus;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The columns a status change needs to report itself, read without touching the items.
+ */
+public record OrderStatusView(
+    UUID id,
+    OrderStatus status,
+    OrderStatus previousStatus,
+    BigDecimal totalAmount
+) {
+}
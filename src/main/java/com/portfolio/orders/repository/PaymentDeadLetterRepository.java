@@ -0,0 +1,26 @@
+package com.portfolio.orders.repository;
+
+import com.portfolio.orders.entity.PaymentDeadLetterEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PaymentDeadLetterRepository extends JpaRepository<PaymentDeadLetterEntity, UUID> {
+
+    List<PaymentDeadLetterEntity> findByReplayedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    long countByReplayedAtIsNull();
+
+    @Transactional
+    @Modifying
+    @Query("update PaymentDeadLetterEntity d set d.replayedAt = :replayedAt where d.id in :ids")
+    int markReplayed(@Param("ids") Collection<UUID> ids, @Param("replayedAt") OffsetDateTime replayedAt);
+}
@@ -0,0 +1,20 @@
+package com.portfolio.orders.repository;
+
+import com.portfolio.orders.entity.ProcessedPaymentEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProcessedPaymentRepository extends JpaRepository<ProcessedPaymentEntity, String> {
+
+    @Query("select p.paymentId from ProcessedPaymentEntity p where p.paymentId in :paymentIds")
+    List<String> findProcessedIds(@Param("paymentIds") Collection<String> paymentIds);
+
+    @Query("select p.paymentId from ProcessedPaymentEntity p where p.processedAt < :cutoff")
+    List<String> findProcessedBefore(@Param("cutoff") OffsetDateTime cutoff, Pageable pageable);
+}
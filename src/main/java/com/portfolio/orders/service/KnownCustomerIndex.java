@@ -0,0 +1,124 @@
+package com.portfolio.orders.service;
+
+import com.portfolio.orders.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory index of users that already placed an order, used to split new from returning customers without
+ * querying the orders table for every checkout. A hit only means the user is probably known and has to be confirmed
+ * against the database.
+ *
+ * <p>The index learns from the startup load and from orders saved on this instance, so a miss is definitive only
+ * when this instance is the only one taking orders ({@code standalone}). With other instances around, a miss could
+ * be a user who ordered through one of them since startup and would need the database anyway, so the index is
+ * neither loaded nor kept and every lookup goes to the database.
+ */
+@Component
+@Slf4j
+public class KnownCustomerIndex {
+
+    private final OrderRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean active;
+    private final CustomerBloomFilter filter;
+    private final Counter definitelyNewCounter;
+    private final Counter probableHitCounter;
+    private final Counter notReadyCounter;
+    private final AtomicLong loadedCustomers = new AtomicLong();
+    private volatile boolean ready;
+
+    public KnownCustomerIndex(
+        OrderRepository repository,
+        PlatformTransactionManager transactionManager,
+        KnownCustomerIndexProperties properties,
+        MeterRegistry registry
+    ) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.active = properties.enabled() && properties.standalone();
+        this.filter = active
+            ? new CustomerBloomFilter(properties.expectedCustomers(), properties.falsePositiveRate())
+            : null;
+        this.definitelyNewCounter = lookupCounter(registry, "definitely_new");
+        this.probableHitCounter = lookupCounter(registry, "probable_hit");
+        this.notReadyCounter = lookupCounter(registry, "not_ready");
+        registry.gauge("orders_customer_index_loaded", loadedCustomers);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!active) {
+            log.info("Known customer index is off: it is only used when this instance takes every order");
+            return;
+        }
+        CompletableFuture.runAsync(this::load)
+            .exceptionally(ex -> {
+                log.error("Known customer index warm-up failed, classification keeps using the database", ex);
+                return null;
+            });
+    }
+
+    /**
+     * Returns {@code false} only when the user has certainly never ordered. While the index is off or not loaded yet,
+     * the user is reported as possibly known so callers fall back to the database.
+     */
+    public boolean mightBeKnown(UUID userId) {
+        if (!active) {
+            return true;
+        }
+        if (!ready) {
+            notReadyCounter.increment();
+            return true;
+        }
+        if (filter.mightContain(userId)) {
+            probableHitCounter.increment();
+            return true;
+        }
+        definitelyNewCounter.increment();
+        return false;
+    }
+
+    public void recordCustomer(UUID userId) {
+        if (active && userId != null) {
+            filter.put(userId);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void load() {
+        long start = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<UUID> userIds = repository.streamDistinctUserIds()) {
+                userIds.forEach(userId -> {
+                    filter.put(userId);
+                    loadedCustomers.incrementAndGet();
+                });
+            }
+        });
+        ready = true;
+        log.info("Known customer index loaded {} customers in {} ms ({} bits, {} hash functions)",
+            loadedCustomers.get(), (System.nanoTime() - start) / 1_000_000, filter.bitSize(), filter.hashFunctions());
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder("orders_customer_index_lookups")
+            .tag("result", result)
+            .description("New/returning customer classifications answered by the in-memory index")
+            .register(registry);
+    }
+}
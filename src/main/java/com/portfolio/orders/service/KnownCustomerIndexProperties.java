@@ -0,0 +1,25 @@
+package com.portfolio.orders.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the {@link KnownCustomerIndex}. {@code standalone} declares that this instance takes every order; only
+ * then has its index seen every customer, so the index is only built when both flags are set.
+ */
+@ConfigurationProperties(prefix = "orders.customers.index")
+public record KnownCustomerIndexProperties(
+    boolean enabled,
+    boolean standalone,
+    long expectedCustomers,
+    double falsePositiveRate
+) {
+
+    public KnownCustomerIndexProperties {
+        if (expectedCustomers <= 0) {
+            expectedCustomers = 5_000_000;
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            falsePositiveRate = 0.01;
+        }
+    }
+}
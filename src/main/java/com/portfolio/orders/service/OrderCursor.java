@@ -0,0 +1,59 @@
+package com.portfolio.orders.service;
+
+import com.portfolio.orders.entity.OrderEntity;
+import com.portfolio.orders.exception.InvalidCursorException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Position after the last order of a keyset page, handed to clients as an opaque URL-safe token. Orders are walked
+ * newest first by {@code (createdAt, id)}, so the id breaks ties between orders created in the same microsecond.
+ */
+record OrderCursor(OffsetDateTime createdAt, UUID id) {
+
+    private static final int ENCODED_BYTES = 3 * Long.BYTES + Integer.BYTES;
+
+    static OrderCursor after(OrderEntity order) {
+        return new OrderCursor(order.getCreatedAt(), order.getId());
+    }
+
+    static OrderCursor decode(String token) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+            if (buffer.remaining() != ENCODED_BYTES) {
+                throw new IllegalArgumentException("unexpected cursor length");
+            }
+            Instant instant = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            UUID id = new UUID(buffer.getLong(), buffer.getLong());
+            return new OrderCursor(instant.atOffset(ZoneOffset.UTC), id);
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException ex) {
+            throw new InvalidCursorException("Invalid orders cursor", ex);
+        }
+    }
+
+    String encode() {
+        Instant instant = createdAt.toInstant();
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+            .putLong(instant.getEpochSecond())
+            .putInt(instant.getNano())
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    ScrollPosition toScrollPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", createdAt);
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+}
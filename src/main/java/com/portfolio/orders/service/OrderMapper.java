@@ -17,16 +17,16 @@ import org.mapstruct.NullValuePropertyMappingStrategy;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.UUID;
 
-@Mapper(componentModel = "spring", imports = {UUID.class, OffsetDateTime.class, OrderStatus.class, BigDecimal.class})
+@Mapper(componentModel = "spring", imports = {OffsetDateTime.class, OrderStatus.class, BigDecimal.class})
 public interface OrderMapper {
 
-    @Mapping(target = "id", expression = "java(UUID.randomUUID())")
+    @Mapping(target = "id", ignore = true)
     @Mapping(target = "status", expression = "java(OrderStatus.PENDING)")
+    @Mapping(target = "previousStatus", ignore = true)
     @Mapping(target = "createdAt", expression = "java(OffsetDateTime.now())")
     @Mapping(target = "totalAmount", expression = "java(BigDecimal.ZERO)")
-    @Mapping(target = "version", constant = "0L")
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "userFullName", ignore = true)
     @Mapping(target = "userEmail", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
@@ -52,6 +52,7 @@ public interface OrderMapper {
     @Mapping(target = "userFullName", ignore = true)
     @Mapping(target = "userEmail", ignore = true)
     @Mapping(target = "status", ignore = true)
+    @Mapping(target = "previousStatus", ignore = true)
     @Mapping(target = "totalAmount", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
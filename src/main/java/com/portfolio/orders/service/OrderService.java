@@ -8,16 +8,20 @@ import com.portfolio.orders.entity.OrderStatus;
 import com.portfolio.orders.exception.ConflictException;
 import com.portfolio.orders.exception.RemoteResourceNotFoundException;
 import com.portfolio.orders.exception.ResourceNotFoundException;
-import com.portfolio.orders.events.OrderKafkaEventPublisher;
-import com.portfolio.orders.events.OrderNotificationPublisher;
+import com.portfolio.orders.events.OrderOutbox;
 import com.portfolio.orders.generated.model.CreateOrderItem;
 import com.portfolio.orders.generated.model.CreateOrderRequest;
 import com.portfolio.orders.generated.model.Order;
+import com.portfolio.orders.generated.model.OrderBatchItemResult;
+import com.portfolio.orders.generated.model.OrderBatchResult;
 import com.portfolio.orders.generated.model.OrderPage;
+import com.portfolio.orders.generated.model.OrderStatusCount;
 import com.portfolio.orders.generated.model.OrderStatusRequest;
+import com.portfolio.orders.generated.model.OrderStatusSummary;
 import com.portfolio.orders.generated.model.UpdateOrderRequest;
 import com.portfolio.orders.metrics.OrdersMetrics;
 import com.portfolio.orders.repository.OrderRepository;
+import com.portfolio.orders.repository.OrderStatusView;
 import com.portfolio.orders.security.SecurityFacade;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,13 +29,34 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -49,50 +74,72 @@ public class OrderService {
     private final OrderMapper mapper;
     private final UsersClient usersClient;
     private final CatalogClient catalogClient;
-    private final OrderNotificationPublisher notificationPublisher;
-    private final OrderKafkaEventPublisher kafkaEventPublisher;
+    private final OrderOutbox outbox;
     private final SecurityFacade securityFacade;
     private final OrdersMetrics ordersMetrics;
+    private final KnownCustomerIndex knownCustomerIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderStatusCounter statusCounter;
+    private final ProcessedPayments processedPayments;
 
     @Transactional(readOnly = true)
     public OrderPage listOrders(Integer page, Integer size, String status) {
+        Pageable pageable = pageRequest(page, size);
+        OrderStatus requestedStatus = parseStatus(status);
         if (!isPrivilegedUser()) {
             UUID currentUser = securityFacade.getCurrentUserId();
             if (currentUser == null) {
                 throw new AccessDeniedException("Anonymous user cannot list orders");
             }
-            List<Order> orders = repository.findByUserId(currentUser).stream()
-                .filter(entity -> status == null || status.isBlank()
-                    || entity.getStatus() == OrderStatus.valueOf(status))
-                .map(mapper::toOrder)
-                .toList();
-            return new OrderPage()
-                .content(orders)
-                .page(0)
-                .size(orders.size())
-                .totalElements((long) orders.size())
-                .totalPages(orders.isEmpty() ? 0 : 1);
-        }
-
-        Pageable pageable = PageRequest.of(page == null ? 0 : page, size == null ? 20 : size,
-            Sort.by(Sort.Direction.DESC, "createdAt"));
+            return toPage(findCustomerOrders(currentUser, requestedStatus, pageable));
+        }
+
         Page<OrderEntity> result;
-        if (status != null && !status.isBlank()) {
-            OrderStatus requestedStatus = OrderStatus.valueOf(status);
+        if (requestedStatus != null) {
             result = repository.findAll((root, query, cb) -> cb.equal(root.get("status"), requestedStatus), pageable);
         } else {
             result = repository.findAll(pageable);
         }
+        return toPage(result);
+    }
 
+    /**
+     * Cursor-paginated variant of {@link #listOrders}: seeks on {@code (created_at, id)} instead of skipping rows and
+     * returns a {@code nextCursor} rather than totals, so deep pages cost the same as the first one.
+     */
+    @Transactional(readOnly = true)
+    public OrderPage scrollOrders(Integer size, String status, String cursor) {
+        Specification<OrderEntity> filter = Specification.where(null);
+        if (!isPrivilegedUser()) {
+            UUID currentUser = securityFacade.getCurrentUserId();
+            if (currentUser == null) {
+                throw new AccessDeniedException("Anonymous user cannot list orders");
+            }
+            filter = filter.and((root, query, cb) -> cb.equal(root.get("userId"), currentUser));
+        }
+        OrderStatus requestedStatus = parseStatus(status);
+        if (requestedStatus != null) {
+            filter = filter.and((root, query, cb) -> cb.equal(root.get("status"), requestedStatus));
+        }
+        int pageSize = size == null ? 20 : size;
+        ScrollPosition position = cursor == null || cursor.isBlank()
+            ? ScrollPosition.keyset()
+            : OrderCursor.decode(cursor).toScrollPosition();
+
+        Window<OrderEntity> window = repository.scrollNewestFirst(filter, pageSize, position);
+        List<OrderEntity> orders = window.getContent();
         return new OrderPage()
-            .content(result.stream().map(mapper::toOrder).toList())
-            .page(result.getNumber())
-            .size(result.getSize())
-            .totalElements(result.getTotalElements())
-            .totalPages(result.getTotalPages());
+            .content(orders.stream().map(mapper::toOrder).toList())
+            .size(pageSize)
+            .nextCursor(window.hasNext() && !orders.isEmpty()
+                ? OrderCursor.after(orders.get(orders.size() - 1)).encode()
+                : null);
     }
 
-    @Transactional
+    /**
+     * Resolves the user and prices the basket before touching the database, so a slow Users or Catalog service
+     * never holds a pooled connection; only the insert runs inside the transaction.
+     */
     public Order createOrder(CreateOrderRequest request) {
         UUID requestedUserId = request.getUserId();
         UUID effectiveUserId = requestedUserId;
@@ -102,72 +149,142 @@ public class OrderService {
                 throw new AccessDeniedException("Unable to determine current user");
             }
         }
-        boolean isNewCustomer = !repository.existsByUserId(effectiveUserId);
-        UsersClient.UserResponse user = usersClient.fetchUser(effectiveUserId);
+        UUID customerId = effectiveUserId;
+        long resolutionStart = System.nanoTime();
+        CompletableFuture<UsersClient.UserResponse> userLookup =
+            timedStage("user", () -> usersClient.fetchUserAsync(customerId));
+        CompletableFuture<Boolean> newCustomerLookup =
+            timedStage("customer", () -> isNewCustomerAsync(customerId));
+        CompletableFuture<Map<UUID, CatalogClient.CatalogProduct>> productsLookup =
+            timedStage("catalog", () -> catalogClient.fetchProductsAsync(productIds(request.getItems())));
 
-        OrderEntity entity = mapper.toEntity(request);
-        entity.setUserId(effectiveUserId);
-        entity.setUserFullName(user.fullName());
-        entity.setUserEmail(user.email());
-        entity.setCurrency(request.getCurrency());
+        UsersClient.UserResponse user = await(userLookup);
+        boolean isNewCustomer = await(newCustomerLookup);
+        Map<UUID, CatalogClient.CatalogProduct> products = await(productsLookup);
+        ordersMetrics.recordCreateStage("resolution", System.nanoTime() - resolutionStart);
 
-        entity.clearItems();
-        BigDecimal total = BigDecimal.ZERO;
-        for (CreateOrderItem item : request.getItems()) {
-            UUID productId = item.getProductId();
-            CatalogClient.CatalogProduct product = catalogClient.fetchProduct(productId);
-            if (!product.currency().equalsIgnoreCase(request.getCurrency())) {
-                throw new ConflictException("Product %s currency mismatch: expected %s, got %s"
-                    .formatted(productId, request.getCurrency(), product.currency()));
+        OrderEntity entity = buildOrder(request, effectiveUserId, user, products);
+        OrderEntity saved = inTransaction("create_order", () -> {
+            statusCounter.recordCreated(List.of(entity));
+            OrderEntity created = repository.save(entity);
+            outbox.orderCreated(created);
+            return created;
+        });
+        knownCustomerIndex.recordCustomer(saved.getUserId());
+        ordersMetrics.trackNewOrder(saved, isNewCustomer);
+        return mapper.toOrder(saved);
+    }
+
+    /**
+     * Creates many orders with one user lookup per distinct customer, one catalog lookup for all products and a
+     * single batched insert. Orders that fail validation are reported in the result and the rest are still stored.
+     */
+    public OrderBatchResult createOrders(List<CreateOrderRequest> requests) {
+        boolean privileged = isPrivilegedUser();
+        UUID currentUser = privileged ? null : securityFacade.getCurrentUserId();
+        if (!privileged && currentUser == null) {
+            throw new AccessDeniedException("Unable to determine current user");
+        }
+        List<UUID> userIds = requests.stream()
+            .map(request -> privileged ? request.getUserId() : currentUser)
+            .toList();
+
+        Map<UUID, CompletableFuture<UsersClient.UserResponse>> userLookups = new LinkedHashMap<>();
+        for (UUID userId : new LinkedHashSet<>(userIds)) {
+            userLookups.put(userId, usersClient.fetchUserAsync(userId));
+        }
+        Set<UUID> productIds = new LinkedHashSet<>();
+        requests.forEach(request -> productIds.addAll(productIds(request.getItems())));
+        Map<UUID, CatalogClient.CatalogProduct> products = await(catalogClient.findProductsAsync(productIds));
+
+        OrderBatchItemResult[] results = new OrderBatchItemResult[requests.size()];
+        List<OrderEntity> pending = new ArrayList<>();
+        List<Integer> pendingIndexes = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            UUID userId = userIds.get(index);
+            try {
+                UsersClient.UserResponse user = await(userLookups.get(userId));
+                pending.add(buildOrder(requests.get(index), userId, user, products));
+                pendingIndexes.add(index);
+            } catch (RemoteResourceNotFoundException | ConflictException ex) {
+                results[index] = new OrderBatchItemResult()
+                    .index(index)
+                    .outcome(OrderBatchItemResult.OutcomeEnum.FAILED)
+                    .error(ex.getMessage());
             }
-            OrderItemEntity itemEntity = mapper.toItemEntity(item);
-            itemEntity.setPrice(product.price());
-            itemEntity.setTitle(product.name());
-            entity.addItem(itemEntity);
-            total = total.add(product.price().multiply(BigDecimal.valueOf(item.getQuantity())));
         }
-        entity.setTotalAmount(total);
 
-        OrderEntity saved = repository.save(entity);
-        notificationPublisher.publish(saved);
-        kafkaEventPublisher.publish(saved);
-        ordersMetrics.trackNewOrder(saved, isNewCustomer);
-        return mapper.toOrder(saved);
+        Set<UUID> returningCustomers = returningCustomers(pending);
+        List<OrderEntity> saved = pending.isEmpty()
+            ? List.of()
+            : inTransaction("create_order_batch", () -> {
+                statusCounter.recordCreated(pending);
+                List<OrderEntity> created = repository.saveAll(pending);
+                outbox.ordersCreated(created);
+                return created;
+            });
+
+        Set<UUID> countedCustomers = new HashSet<>();
+        for (int i = 0; i < saved.size(); i++) {
+            OrderEntity order = saved.get(i);
+            int index = pendingIndexes.get(i);
+            knownCustomerIndex.recordCustomer(order.getUserId());
+            boolean firstOrder = !returningCustomers.contains(order.getUserId())
+                && countedCustomers.add(order.getUserId());
+            ordersMetrics.trackNewOrder(order, firstOrder);
+            results[index] = new OrderBatchItemResult()
+                .index(index)
+                .outcome(OrderBatchItemResult.OutcomeEnum.CREATED)
+                .order(mapper.toOrder(order));
+        }
+
+        log.info("Created {} of {} orders in batch", saved.size(), requests.size());
+        return new OrderBatchResult()
+            .created(saved.size())
+            .failed(requests.size() - saved.size())
+            .results(Arrays.asList(results));
     }
 
     @Transactional(readOnly = true)
     public Order getOrder(UUID id) {
-        OrderEntity entity = findById(id);
+        OrderEntity entity = findWithItemsById(id);
         assertCanAccess(entity);
         return mapper.toOrder(entity);
     }
 
-    @Transactional
     public Order updateOrder(UUID id, UpdateOrderRequest request) {
         if (!isPrivilegedUser()) {
             throw new AccessDeniedException("Only administrators can update orders");
         }
-        OrderEntity entity = findById(id);
-        if (entity.getStatus() == OrderStatus.CANCELLED) {
-            throw new ConflictException("Cannot update a cancelled order");
-        }
+        // read-write so it is served by the primary: a replica may not have seen the latest status change yet, which
+        // would fail the version check below for no reason
+        OrderEntity current = inTransaction("load_order", () -> findById(id));
+        assertUpdatable(current);
+        Map<UUID, CatalogClient.CatalogProduct> products = fetchProducts(request.getItems());
 
-        entity.setNotes(request.getNotes());
-        entity.clearItems();
-        BigDecimal total = BigDecimal.ZERO;
+        OrderEntity saved = inTransaction("update_order", () -> {
+            OrderEntity entity = findWithItemsById(id);
+            assertUpdatable(entity);
+            if (!Objects.equals(entity.getVersion(), current.getVersion())) {
+                throw new ConflictException("Order %s was modified concurrently, retry the update".formatted(id));
+            }
 
-        for (CreateOrderItem item : request.getItems()) {
-            UUID productId = item.getProductId();
-            CatalogClient.CatalogProduct product = catalogClient.fetchProduct(productId);
-            OrderItemEntity itemEntity = mapper.toItemEntity(item);
-            itemEntity.setPrice(product.price());
-            itemEntity.setTitle(product.name());
-            entity.addItem(itemEntity);
-            total = total.add(product.price().multiply(BigDecimal.valueOf(item.getQuantity())));
-        }
-        entity.setTotalAmount(total);
-        OrderEntity saved = repository.save(entity);
-        notificationPublisher.publish(saved);
+            entity.setNotes(request.getNotes());
+            entity.clearItems();
+            BigDecimal total = BigDecimal.ZERO;
+            for (CreateOrderItem item : request.getItems()) {
+                CatalogClient.CatalogProduct product = products.get(item.getProductId());
+                OrderItemEntity itemEntity = mapper.toItemEntity(item);
+                itemEntity.setPrice(product.price());
+                itemEntity.setTitle(product.name());
+                entity.addItem(itemEntity);
+                total = total.add(product.price().multiply(BigDecimal.valueOf(item.getQuantity())));
+            }
+            entity.setTotalAmount(total);
+            OrderEntity updated = repository.save(entity);
+            outbox.orderChanged(updated);
+            return updated;
+        });
         return mapper.toOrder(saved);
     }
 
@@ -176,48 +293,280 @@ public class OrderService {
         if (!isPrivilegedUser()) {
             throw new AccessDeniedException("Only administrators can cancel orders");
         }
-        OrderEntity entity = findById(id);
-        entity.setStatus(OrderStatus.CANCELLED);
-        OrderEntity saved = repository.save(entity);
-        notificationPublisher.publish(saved);
-        ordersMetrics.incrementStatus(OrderStatus.CANCELLED);
+        boolean changed = changeStatus(id, OrderStatus.CANCELLED);
+        OrderStatusView order = findStatusView(id);
+        if (settleTransition(id, changed, OrderStatus.CANCELLED, order.status(), order.previousStatus())) {
+            outbox.statusChanged(order);
+        }
     }
 
-    public void handlePaymentResult(UUID orderId, boolean success) {
-        OrderEntity order = findById(orderId);
+    /**
+     * Applies one payment result and records {@code paymentId}, when present, as processed in the same transaction.
+     */
+    @Transactional
+    public void handlePaymentResult(UUID orderId, String paymentId, boolean success) {
+        OrderStatus newStatus = success ? OrderStatus.CONFIRMED : OrderStatus.CANCELLED;
+        processedPayments.record(paymentId, orderId);
+        boolean changed = changeStatus(orderId, newStatus);
+        OrderStatusView order = findStatusView(orderId);
+        if (!settleTransition(orderId, changed, newStatus, order.status(), order.previousStatus())) {
+            log.info("Order {} already {}, ignoring repeated payment result", orderId, newStatus);
+            return;
+        }
         if (success) {
-            order.setStatus(OrderStatus.CONFIRMED);
             log.info("Order {} confirmed via payment saga", orderId);
         } else {
-            order.setStatus(OrderStatus.CANCELLED);
             log.info("Order {} cancelled via payment saga", orderId);
         }
-        repository.save(order);
-        notificationPublisher.publish(order); // Notify user of update
+        outbox.statusChanged(order); // Notify user of update
+    }
+
+    /**
+     * Applies a poll's worth of payment results in one transaction: one read of the current statuses and one
+     * conditional update per target status. If another writer moves one of the orders between that read and the
+     * update, the batch is rolled back as a whole so it can be redelivered against fresh state. {@code payments}
+     * maps the payment ids behind the results to their orders and is recorded as processed with the batch, except
+     * for orders that do not exist or whose status rules the result out: those are reported back like
+     * {@link #handlePaymentResult} would throw for them, so the caller can dead-letter them.
+     */
+    @Transactional
+    public PaymentBatchResult applyPaymentResults(Map<UUID, Boolean> results, Map<String, UUID> payments) {
+        if (results.isEmpty()) {
+            return new PaymentBatchResult(0, 0, List.of(), List.of());
+        }
+        Map<UUID, OrderStatusView> current = new HashMap<>();
+        repository.findStatusViewsByIdIn(results.keySet()).forEach(view -> current.put(view.id(), view));
+
+        Map<OrderStatus, List<OrderStatusView>> eligible = new EnumMap<>(OrderStatus.class);
+        int duplicates = 0;
+        List<UUID> conflicted = new ArrayList<>();
+        List<UUID> unknown = new ArrayList<>();
+        for (Map.Entry<UUID, Boolean> result : results.entrySet()) {
+            OrderStatus target = result.getValue() ? OrderStatus.CONFIRMED : OrderStatus.CANCELLED;
+            OrderStatusView order = current.get(result.getKey());
+            if (order == null) {
+                unknown.add(result.getKey());
+                log.warn("Payment result for unknown order {}", result.getKey());
+            } else if (order.status() == target) {
+                duplicates++;
+            } else if (order.status().canTransitionTo(target)) {
+                eligible.computeIfAbsent(target, status -> new ArrayList<>()).add(order);
+            } else {
+                conflicted.add(order.id());
+                log.warn("Order {} is {} and cannot become {} from a payment result", order.id(), order.status(), target);
+            }
+        }
+        Map<String, UUID> accepted = new LinkedHashMap<>(payments);
+        accepted.values().removeAll(conflicted);
+        accepted.values().removeAll(unknown);
+        processedPayments.record(accepted);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<OrderStatusView> changed = new ArrayList<>();
+        eligible.forEach((target, orders) -> {
+            List<UUID> ids = orders.stream().map(OrderStatusView::id).toList();
+            int updated = repository.transitionStatuses(ids, target, target.predecessors(), now);
+            if (updated != ids.size()) {
+                throw new ConflictException("%d of %d orders changed status while applying payment results"
+                    .formatted(ids.size() - updated, ids.size()));
+            }
+            statusCounter.recordTransitions(orders.stream().map(OrderStatusView::status).toList(), target);
+            for (OrderStatusView order : orders) {
+                ordersMetrics.incrementStatus(target);
+                changed.add(new OrderStatusView(order.id(), target, order.status(), order.totalAmount()));
+            }
+        });
+        outbox.statusChanges(changed);
+        log.info("Applied {} payment results ({} duplicates, {} conflicts, {} unknown orders)",
+            changed.size(), duplicates, conflicted.size(), unknown.size());
+        return new PaymentBatchResult(changed.size(), duplicates, conflicted, unknown);
     }
 
+    /**
+     * Applies the transition as one conditional update and then reads the order with its items once for the
+     * response; the order is never loaded just to be modified.
+     */
     @Transactional
     public Order updateStatus(UUID id, OrderStatusRequest request) {
         if (!isPrivilegedUser()) {
             throw new AccessDeniedException("Only administrators can update order status");
         }
-        OrderEntity entity = findById(id);
         OrderStatus newStatus = OrderStatus.valueOf(request.getStatus().getValue());
-        entity.setStatus(newStatus);
-        OrderEntity saved = repository.save(entity);
-        notificationPublisher.publish(saved);
-        ordersMetrics.incrementStatus(newStatus);
-        return mapper.toOrder(saved);
+        boolean changed = changeStatus(id, newStatus);
+        OrderEntity entity = findWithItemsById(id);
+        if (settleTransition(id, changed, newStatus, entity.getStatus(), entity.getPreviousStatus())) {
+            outbox.orderChanged(entity);
+        }
+        return mapper.toOrder(entity);
+    }
+
+    public OrderStatusSummary getStatusSummary() {
+        if (!isPrivilegedUser()) {
+            throw new AccessDeniedException("Only administrators can read the order status summary");
+        }
+        Map<OrderStatus, Long> counts = statusCounter.snapshot();
+        return new OrderStatusSummary()
+            .total(counts.values().stream().mapToLong(Long::longValue).sum())
+            .counts(counts.entrySet().stream()
+                .map(entry -> new OrderStatusCount()
+                    .status(com.portfolio.orders.generated.model.OrderStatus.fromValue(entry.getKey().name()))
+                    .count(entry.getValue()))
+                .toList());
     }
 
     @Transactional(readOnly = true)
-    public List<Order> listOrdersByUser(UUID userId) {
+    public OrderPage listOrdersByUser(UUID userId, Integer page, Integer size, String status) {
         if (!isPrivilegedUser()) {
             securityFacade.assertCurrentUser(userId);
         }
-        return repository.findByUserId(userId).stream()
-            .map(mapper::toOrder)
-            .toList();
+        return toPage(findCustomerOrders(userId, parseStatus(status), pageRequest(page, size)));
+    }
+
+    private Page<OrderEntity> findCustomerOrders(UUID userId, OrderStatus status, Pageable pageable) {
+        return status == null
+            ? repository.findByUserId(userId, pageable)
+            : repository.findByUserIdAndStatus(userId, status, pageable);
+    }
+
+    private static Pageable pageRequest(Integer page, Integer size) {
+        return PageRequest.of(page == null ? 0 : page, size == null ? 20 : size,
+            Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
+    private static OrderStatus parseStatus(String status) {
+        return status == null || status.isBlank() ? null : OrderStatus.valueOf(status);
+    }
+
+    private OrderPage toPage(Page<OrderEntity> result) {
+        return new OrderPage()
+            .content(result.stream().map(mapper::toOrder).toList())
+            .page(result.getNumber())
+            .size(result.getSize())
+            .totalElements(result.getTotalElements())
+            .totalPages(result.getTotalPages());
+    }
+
+    private OrderEntity buildOrder(
+        CreateOrderRequest request,
+        UUID userId,
+        UsersClient.UserResponse user,
+        Map<UUID, CatalogClient.CatalogProduct> products
+    ) {
+        OrderEntity entity = mapper.toEntity(request);
+        entity.setUserId(userId);
+        entity.setUserFullName(user.fullName());
+        entity.setUserEmail(user.email());
+        entity.setCurrency(request.getCurrency());
+
+        entity.clearItems();
+        BigDecimal total = BigDecimal.ZERO;
+        for (CreateOrderItem item : request.getItems()) {
+            UUID productId = item.getProductId();
+            CatalogClient.CatalogProduct product = products.get(productId);
+            if (product == null) {
+                throw new RemoteResourceNotFoundException("Product %s not found".formatted(productId));
+            }
+            if (!product.currency().equalsIgnoreCase(request.getCurrency())) {
+                throw new ConflictException("Product %s currency mismatch: expected %s, got %s"
+                    .formatted(productId, request.getCurrency(), product.currency()));
+            }
+            OrderItemEntity itemEntity = mapper.toItemEntity(item);
+            itemEntity.setPrice(product.price());
+            itemEntity.setTitle(product.name());
+            entity.addItem(itemEntity);
+            total = total.add(product.price().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        entity.setTotalAmount(total);
+        return entity;
+    }
+
+    private Map<UUID, CatalogClient.CatalogProduct> fetchProducts(List<CreateOrderItem> items) {
+        return catalogClient.fetchProducts(productIds(items));
+    }
+
+    private List<UUID> productIds(List<CreateOrderItem> items) {
+        return items.stream().map(CreateOrderItem::getProductId).toList();
+    }
+
+    /**
+     * The customers of {@code orders} that ordered before, with one query for all of them; users the index rules out
+     * are left out of it.
+     */
+    private Set<UUID> returningCustomers(List<OrderEntity> orders) {
+        Set<UUID> candidates = new LinkedHashSet<>();
+        orders.forEach(order -> candidates.add(order.getUserId()));
+        candidates.removeIf(userId -> !knownCustomerIndex.mightBeKnown(userId));
+        return candidates.isEmpty() ? Set.of() : new HashSet<>(repository.findUserIdsWithOrders(candidates));
+    }
+
+    private CompletableFuture<Boolean> isNewCustomerAsync(UUID userId) {
+        if (!knownCustomerIndex.mightBeKnown(userId)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return Mono.fromCallable(() -> !repository.existsByUserId(userId))
+            .subscribeOn(Schedulers.boundedElastic())
+            .toFuture();
+    }
+
+    private <T> T inTransaction(String operation, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return transactionTemplate.execute(status -> work.get());
+        } finally {
+            ordersMetrics.recordConnectionHold(operation, System.nanoTime() - start);
+        }
+    }
+
+    private <T> CompletableFuture<T> timedStage(String stage, Supplier<CompletableFuture<T>> lookup) {
+        long start = System.nanoTime();
+        return lookup.get().whenComplete((result, error) -> {
+            long elapsed = System.nanoTime() - start;
+            ordersMetrics.recordCreateStage(stage, elapsed);
+            log.debug("Order creation stage {} finished in {} ms", stage, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        });
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Compare-and-set on the status column: succeeds only if the order currently sits in one of the target's
+     * allowed predecessors.
+     */
+    private boolean changeStatus(UUID id, OrderStatus target) {
+        Set<OrderStatus> predecessors = target.predecessors();
+        return !predecessors.isEmpty()
+            && repository.transitionStatus(id, target, predecessors, OffsetDateTime.now()) > 0;
+    }
+
+    /**
+     * Books a successful transition, or decides what a failed one meant: a repeat of a transition that already
+     * happened is ignored, anything else is a conflict. Returns whether the status actually changed.
+     */
+    private boolean settleTransition(UUID id, boolean changed, OrderStatus target, OrderStatus current,
+                                     OrderStatus previous) {
+        if (changed) {
+            statusCounter.recordTransition(previous, target);
+            ordersMetrics.incrementStatus(target);
+            return true;
+        }
+        if (current == target) {
+            return false;
+        }
+        throw new ConflictException("Order %s cannot move from %s to %s".formatted(id, current, target));
+    }
+
+    private OrderStatusView findStatusView(UUID id) {
+        return repository.findStatusViewById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Order %s not found".formatted(id)));
     }
 
     private OrderEntity findById(UUID id) {
@@ -225,6 +574,17 @@ public class OrderService {
             .orElseThrow(() -> new ResourceNotFoundException("Order %s not found".formatted(id)));
     }
 
+    private OrderEntity findWithItemsById(UUID id) {
+        return repository.findWithItemsById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Order %s not found".formatted(id)));
+    }
+
+    private void assertUpdatable(OrderEntity entity) {
+        if (entity.getStatus() == OrderStatus.CANCELLED) {
+            throw new ConflictException("Cannot update a cancelled order");
+        }
+    }
+
     private void assertCanAccess(OrderEntity entity) {
         if (isPrivilegedUser()) {
             return;
@@ -0,0 +1,15 @@
+package com.portfolio.orders.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "orders.status-counts")
+public record OrderStatusCountProperties(
+    int slots
+) {
+
+    public OrderStatusCountProperties {
+        if (slots <= 0) {
+            slots = 8;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.portfolio.orders.service;
+
+import com.portfolio.orders.entity.OrderEntity;
+import com.portfolio.orders.entity.OrderStatus;
+import com.portfolio.orders.entity.OrderStatusCountEntity;
+import com.portfolio.orders.repository.OrderRepository;
+import com.portfolio.orders.repository.OrderStatusCountRepository;
+import com.portfolio.orders.repository.OrderStatusTotal;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps {@code order_status_counts} in step with the orders table. Every write joins the caller's transaction, so
+ * a count only moves when the status change it describes commits.
+ *
+ * <p>Every status/slot row exists before the first order is written: V5 seeds the default slots and startup adds
+ * any that a larger {@code slots} setting needs. Writes are therefore plain relative updates and never race each
+ * other to insert a row.
+ */
+@Component
+@Slf4j
+public class OrderStatusCounter implements SmartInitializingSingleton {
+
+    private final OrderStatusCountRepository countRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transaction;
+    private final int slots;
+
+    public OrderStatusCounter(
+        OrderStatusCountRepository countRepository,
+        OrderRepository orderRepository,
+        PlatformTransactionManager transactionManager,
+        OrderStatusCountProperties properties
+    ) {
+        this.countRepository = countRepository;
+        this.orderRepository = orderRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.slots = properties.slots();
+    }
+
+    /**
+     * Runs before listener containers and the web server start, so no status change can reach a missing slot.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        createMissingSlots();
+    }
+
+    /**
+     * Inserts an empty row for every status/slot pair that does not exist yet. Another instance starting at the
+     * same time may win the insert, which is fine.
+     */
+    void createMissingSlots() {
+        Set<OrderStatusCountEntity.Key> existing = transaction.execute(status -> countRepository.findAll().stream()
+            .map(row -> new OrderStatusCountEntity.Key(row.getStatus(), row.getSlot()))
+            .collect(Collectors.toSet()));
+        int created = 0;
+        for (OrderStatus status : OrderStatus.values()) {
+            for (int slot = 0; slot < slots; slot++) {
+                if (existing.contains(new OrderStatusCountEntity.Key(status, slot))) {
+                    continue;
+                }
+                OrderStatusCountEntity row = new OrderStatusCountEntity(status, slot, 0);
+                try {
+                    transaction.executeWithoutResult(tx -> countRepository.saveAndFlush(row));
+                    created++;
+                } catch (DataIntegrityViolationException ex) {
+                    log.debug("Order status count slot {}/{} was created concurrently", status, slot);
+                }
+            }
+        }
+        if (created > 0) {
+            log.info("Created {} order status count slots", created);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<OrderEntity> orders) {
+        Map<OrderStatus, Long> created = new EnumMap<>(OrderStatus.class);
+        orders.forEach(order -> created.merge(order.getStatus(), 1L, Long::sum));
+        created.forEach((status, count) -> adjust(status, randomSlot(), count));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(OrderStatus from, OrderStatus to) {
+        recordTransitions(List.of(from), to);
+    }
+
+    /**
+     * Moves one order from each of {@code from} to {@code to}, netting them into a single update per status. Rows
+     * are always locked in status order so two opposite transitions cannot deadlock on each other's slots.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransitions(Collection<OrderStatus> from, OrderStatus to) {
+        Map<OrderStatus, Long> deltas = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus previous : from) {
+            if (previous != to) {
+                deltas.merge(previous, -1L, Long::sum);
+                deltas.merge(to, 1L, Long::sum);
+            }
+        }
+        deltas.forEach((status, delta) -> adjust(status, randomSlot(), delta));
+    }
+
+    @Transactional(readOnly = true)
+    public long count(OrderStatus status) {
+        return countRepository.sumForStatus(status);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<OrderStatus, Long> snapshot() {
+        return totals(countRepository.sumByStatus());
+    }
+
+    /**
+     * Recounts the orders table and folds any difference into slot 0. Both reads see the same repeatable-read
+     * snapshot and the correction is a relative update, so transitions committed meanwhile are not lost.
+     *
+     * @return the correction applied per status, empty when the counts were accurate
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public Map<OrderStatus, Long> reconcile() {
+        Map<OrderStatus, Long> actual = totals(orderRepository.countGroupedByStatus());
+        Map<OrderStatus, Long> recorded = totals(countRepository.sumByStatus());
+        Map<OrderStatus, Long> drift = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            long delta = actual.get(status) - recorded.get(status);
+            if (delta != 0) {
+                adjust(status, 0, delta);
+                drift.put(status, delta);
+            }
+        }
+        return drift;
+    }
+
+    private void adjust(OrderStatus status, int slot, long delta) {
+        if (countRepository.increment(status, slot, delta) == 0) {
+            throw new IllegalStateException("Order status count slot %s/%d does not exist".formatted(status, slot));
+        }
+    }
+
+    private int randomSlot() {
+        return slots == 1 ? 0 : ThreadLocalRandom.current().nextInt(slots);
+    }
+
+    private static Map<OrderStatus, Long> totals(Collection<OrderStatusTotal> rows) {
+        Map<OrderStatus, Long> totals = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            totals.put(status, 0L);
+        }
+        rows.forEach(row -> totals.put(row.getStatus(), row.getTotal()));
+        return totals;
+    }
+}
@@ -0,0 +1,25 @@
+package com.portfolio.orders.service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * What happened to the distinct orders of one payment-result batch. {@code conflicted} lists the orders whose
+ * status no longer allows the result and {@code unknown} the results for orders that do not exist; the payments of
+ * both were not recorded as processed.
+ */
+public record PaymentBatchResult(
+    int applied,
+    int duplicates,
+    List<UUID> conflicted,
+    List<UUID> unknown
+) {
+
+    public int conflicts() {
+        return conflicted.size();
+    }
+
+    public int unknownOrders() {
+        return unknown.size();
+    }
+}
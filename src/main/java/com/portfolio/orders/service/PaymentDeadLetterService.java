@@ -0,0 +1,77 @@
+package com.portfolio.orders.service;
+
+import com.portfolio.orders.entity.PaymentDeadLetterEntity;
+import com.portfolio.orders.events.PaymentResultConsumerProperties;
+import com.portfolio.orders.generated.model.PaymentDeadLetterReplayResult;
+import com.portfolio.orders.metrics.OrdersMetrics;
+import com.portfolio.orders.repository.PaymentDeadLetterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays dead-lettered payment results through the payment results topic, so they take the same path as a fresh
+ * result, including the recovery topic if they fail again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentDeadLetterService {
+
+    private static final int DEFAULT_LIMIT = 500;
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+
+    private final PaymentDeadLetterRepository repository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final PaymentResultConsumerProperties properties;
+    private final OrdersMetrics ordersMetrics;
+
+    /**
+     * Publishes up to {@code limit} of the oldest unreplayed results and marks the ones the broker acknowledged. No
+     * transaction is held while waiting for Kafka.
+     */
+    public PaymentDeadLetterReplayResult replay(Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        List<PaymentDeadLetterEntity> letters = repository.findByReplayedAtIsNullOrderByIdAsc(PageRequest.of(0, size));
+
+        Map<UUID, CompletableFuture<?>> sends = new LinkedHashMap<>();
+        for (PaymentDeadLetterEntity letter : letters) {
+            sends.put(letter.getId(), kafkaTemplate.send(new ProducerRecord<>(properties.topic(), letter.getMessageKey(),
+                letter.getPayload().getBytes(StandardCharsets.UTF_8))));
+        }
+        List<UUID> replayed = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SEND_TIMEOUT_SECONDS);
+        sends.forEach((id, send) -> {
+            try {
+                send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                replayed.add(id);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (Exception ex) {
+                log.warn("Could not replay dead-lettered payment result {}", id, ex);
+            }
+        });
+        if (!replayed.isEmpty()) {
+            repository.markReplayed(replayed, OffsetDateTime.now());
+        }
+        ordersMetrics.recordPaymentStage("replay", "published", replayed.size());
+        ordersMetrics.recordPaymentStage("replay", "failed", letters.size() - replayed.size());
+        log.info("Replayed {} of {} dead-lettered payment results", replayed.size(), letters.size());
+        return new PaymentDeadLetterReplayResult()
+            .replayed(replayed.size())
+            .remaining(repository.countByReplayedAtIsNull());
+    }
+}
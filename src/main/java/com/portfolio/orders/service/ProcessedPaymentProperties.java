@@ -0,0 +1,32 @@
+package com.portfolio.orders.service;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code retention} must outlast any redelivery we want to recognise, including replays of dead-lettered results;
+ * the recent window only saves database lookups and can be much shorter.
+ */
+@ConfigurationProperties(prefix = "orders.payments.processed")
+public record ProcessedPaymentProperties(
+    Duration retention,
+    int cleanupBatchSize,
+    long recentWindowSize,
+    Duration recentWindowTtl
+) {
+
+    public ProcessedPaymentProperties {
+        if (retention == null) {
+            retention = Duration.ofDays(30);
+        }
+        if (cleanupBatchSize <= 0) {
+            cleanupBatchSize = 1000;
+        }
+        if (recentWindowSize <= 0) {
+            recentWindowSize = 100_000;
+        }
+        if (recentWindowTtl == null || recentWindowTtl.isZero() || recentWindowTtl.isNegative()) {
+            recentWindowTtl = Duration.ofMinutes(30);
+        }
+    }
+}
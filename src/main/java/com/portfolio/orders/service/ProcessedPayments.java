@@ -0,0 +1,158 @@
+package com.portfolio.orders.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.orders.entity.ProcessedPaymentEntity;
+import com.portfolio.orders.repository.ProcessedPaymentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Remembers which payments already had their result applied, so redelivered results are dropped before any order is
+ * read or written. The {@code processed_payments} table is the record of truth and is written in the transaction
+ * that applies the result; a window of recently applied ids in memory answers most redeliveries without a query.
+ *
+ * <p>A lookup that misses, for instance against a lagging replica, is still safe: inserting the same payment id a
+ * second time violates the primary key and rolls the duplicate back.
+ */
+@Component
+@Slf4j
+public class ProcessedPayments {
+
+    private final ProcessedPaymentRepository repository;
+    private final TransactionTemplate transaction;
+    private final ProcessedPaymentProperties properties;
+    private final Cache<String, UUID> recent;
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    public ProcessedPayments(
+        ProcessedPaymentRepository repository,
+        PlatformTransactionManager transactionManager,
+        ProcessedPaymentProperties properties,
+        MeterRegistry registry
+    ) {
+        this.repository = repository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.recent = Caffeine.newBuilder()
+            .maximumSize(properties.recentWindowSize())
+            .expireAfterWrite(properties.recentWindowTtl())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(registry, recent, "processed-payments");
+        this.memoryHits = lookupCounter(registry, "memory_hit");
+        this.databaseHits = lookupCounter(registry, "database_hit");
+        this.misses = lookupCounter(registry, "new");
+    }
+
+    public boolean isProcessed(String paymentId) {
+        return paymentId != null && !processed(List.of(paymentId)).isEmpty();
+    }
+
+    /**
+     * Returns the ids among {@code paymentIds} that were already applied, checking the recent window first and the
+     * table, in one query, for the rest. Null ids are never reported as processed.
+     */
+    public Set<String> processed(Collection<String> paymentIds) {
+        Set<String> processed = new HashSet<>();
+        Set<String> unknown = new LinkedHashSet<>();
+        for (String paymentId : paymentIds) {
+            if (paymentId == null || processed.contains(paymentId)) {
+                continue;
+            }
+            if (recent.getIfPresent(paymentId) != null) {
+                processed.add(paymentId);
+                memoryHits.increment();
+            } else {
+                unknown.add(paymentId);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            List<String> stored = repository.findProcessedIds(unknown);
+            processed.addAll(stored);
+            databaseHits.increment(stored.size());
+            misses.increment(unknown.size() - stored.size());
+        }
+        return processed;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String paymentId, UUID orderId) {
+        if (paymentId != null) {
+            record(Map.of(paymentId, orderId));
+        }
+    }
+
+    /**
+     * Stores the applied payment ids in the caller's transaction. They enter the recent window only once that
+     * transaction commits, so a rolled-back result is never mistaken for an applied one.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Map<String, UUID> payments) {
+        Map<String, UUID> applied = new LinkedHashMap<>(payments);
+        applied.keySet().removeIf(Objects::isNull);
+        if (applied.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        repository.saveAll(applied.entrySet().stream()
+            .map(payment -> new ProcessedPaymentEntity(payment.getKey(), payment.getValue(), now))
+            .toList());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recent.putAll(applied);
+            }
+        });
+    }
+
+    /**
+     * Forgets payments past the retention period, a chunk per transaction.
+     */
+    @Scheduled(cron = "${orders.payments.processed.cleanup-cron:0 45 3 * * *}")
+    public void purgeExpired() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(properties.retention());
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = transaction.execute(status -> {
+                List<String> ids = repository.findProcessedBefore(cutoff,
+                    PageRequest.of(0, properties.cleanupBatchSize()));
+                repository.deleteAllByIdInBatch(ids);
+                return ids.size();
+            });
+            purged += deleted;
+        } while (deleted == properties.cleanupBatchSize());
+        log.info("Purged {} processed payments older than {}", purged, cutoff);
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder("orders_payment_dedup_lookups")
+            .tag("result", result)
+            .description("Payment ids checked against the processed payments; the hit share is the duplicate rate")
+            .register(registry);
+    }
+}
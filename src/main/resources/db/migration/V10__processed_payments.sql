@@ -0,0 +1,8 @@
+CREATE TABLE processed_payments (
+    payment_id VARCHAR(100) NOT NULL,
+    order_id BINARY(16) NOT NULL,
+    processed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (payment_id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_processed_payments_processed_at ON processed_payments (processed_at);
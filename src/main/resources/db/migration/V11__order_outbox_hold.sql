@@ -0,0 +1,6 @@
+-- Notifications may be held back briefly so that a newer status of the same order replaces them.
+ALTER TABLE order_outbox
+    ADD COLUMN hold_until DATETIME(6) NULL AFTER created_at;
+
+-- Finds an order's unsent messages per destination when a new one is recorded.
+CREATE INDEX idx_order_outbox_aggregate ON order_outbox (aggregate_id, destination, sent_at);
@@ -0,0 +1,4 @@
+-- Set while a relay is sending a message (a lease) and after a failed attempt (a backoff); the relay skips the row
+-- and the later messages of its order until then.
+ALTER TABLE order_outbox
+    ADD COLUMN next_attempt_at DATETIME(6) NULL AFTER hold_until;
@@ -0,0 +1,5 @@
+CREATE INDEX idx_orders_user_status_created_at ON orders (user_id, status, created_at);
+CREATE INDEX idx_orders_user_created_at ON orders (user_id, created_at);
+
+-- Both indexes above lead with user_id, so the single-column one is redundant.
+DROP INDEX idx_orders_user_id ON orders;
@@ -0,0 +1,19 @@
+CREATE TABLE order_status_counts (
+    status VARCHAR(16) NOT NULL,
+    slot INT NOT NULL,
+    order_count BIGINT NOT NULL,
+    PRIMARY KEY (status, slot)
+) ENGINE=InnoDB;
+
+-- Create every status/slot row up front (orders.status-counts.slots defaults to 8) so writers only ever update.
+-- Slot 0 is seeded from the current table; anything written while this runs is corrected by the reconciliation job.
+INSERT INTO order_status_counts (status, slot, order_count)
+SELECT s.status, n.slot, CASE WHEN n.slot = 0 THEN (SELECT COUNT(*) FROM orders o WHERE o.status = s.status) ELSE 0 END
+FROM (
+    SELECT 'PENDING' AS status UNION ALL SELECT 'CONFIRMED' UNION ALL SELECT 'SHIPPED'
+    UNION ALL SELECT 'DELIVERED' UNION ALL SELECT 'CANCELLED'
+) s
+CROSS JOIN (
+    SELECT 0 AS slot UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3
+    UNION ALL SELECT 4 UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7
+) n;
@@ -0,0 +1 @@
+ALTER TABLE orders ADD COLUMN previous_status VARCHAR(16);
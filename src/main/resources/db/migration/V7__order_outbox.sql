@@ -0,0 +1,14 @@
+CREATE TABLE order_outbox (
+    id BINARY(16) NOT NULL,
+    aggregate_id BINARY(16) NOT NULL,
+    destination VARCHAR(16) NOT NULL,
+    message_key VARCHAR(160) NOT NULL,
+    payload LONGTEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    sent_at DATETIME(6),
+    attempts INT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Serves both the relay (sent_at IS NULL ORDER BY id) and retention (sent_at < ?).
+CREATE INDEX idx_order_outbox_sent ON order_outbox (sent_at, id);
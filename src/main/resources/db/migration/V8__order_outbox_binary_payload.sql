@@ -0,0 +1,4 @@
+-- Payloads are stored as the exact bytes handed to the broker, JSON or the compact binary encoding.
+ALTER TABLE order_outbox
+    MODIFY payload LONGBLOB NOT NULL,
+    ADD COLUMN content_type VARCHAR(80) NOT NULL DEFAULT 'application/json' AFTER payload;
@@ -0,0 +1,13 @@
+CREATE TABLE payment_dead_letters (
+    id BINARY(16) NOT NULL,
+    order_id BINARY(16),
+    message_key VARCHAR(160),
+    payload LONGTEXT NOT NULL,
+    source_topic VARCHAR(249) NOT NULL,
+    error VARCHAR(1000),
+    failed_at DATETIME(6) NOT NULL,
+    replayed_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_payment_dead_letters_replayed ON payment_dead_letters (replayed_at, id);
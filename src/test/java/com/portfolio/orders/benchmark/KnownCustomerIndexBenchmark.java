@@ -0,0 +1,84 @@
+package com.portfolio.orders.benchmark;
+
+import com.portfolio.orders.service.CustomerBloomFilter;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Classification cost of the known-customer index as the number of customers grows. Per-lookup latency should stay
+ * flat from one million to fifty million customers.
+ * Not part of the unit test run; start {@link #main} from the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class KnownCustomerIndexBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    @Param({"1000000", "10000000", "50000000"})
+    private int customers;
+
+    private CustomerBloomFilter filter;
+    private UUID[] returningCustomers;
+    private UUID[] newCustomers;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void load() {
+        filter = new CustomerBloomFilter(customers, 0.01);
+        returningCustomers = new UUID[PROBES];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < customers; i++) {
+            UUID userId = new UUID(random.nextLong(), random.nextLong());
+            filter.put(userId);
+            if (i < PROBES) {
+                returningCustomers[i] = userId;
+            }
+        }
+        newCustomers = new UUID[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            newCustomers[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+    }
+
+    @Benchmark
+    public boolean classifyReturningCustomer() {
+        return filter.mightContain(returningCustomers[next()]);
+    }
+
+    @Benchmark
+    public boolean classifyNewCustomer() {
+        return filter.mightContain(newCustomers[next()]);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (PROBES - 1);
+        return cursor;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(KnownCustomerIndexBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.portfolio.orders.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.portfolio.orders.events.OrderEventBinaryCodec;
+import com.portfolio.orders.events.OrderKafkaEventPublisher.OrderKafkaItem;
+import com.portfolio.orders.events.OrderKafkaEventPublisher.OrderKafkaPayload;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Encode cost of a checkout event: the previous JSON path (a {@code String} re-encoded by {@code StringSerializer}),
+ * JSON written straight to bytes, and {@link OrderEventBinaryCodec}. {@link #main} prints the encoded sizes first; the
+ * GC profiler's {@code gc.alloc.rate.norm} is the allocation per event.
+ *
+ * <p>Not part of the unit test run; start {@link #main} from the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderEventEncodingBenchmark {
+
+    @Param({"1", "5", "25"})
+    private int items;
+
+    private ObjectMapper objectMapper;
+    private OrderKafkaPayload payload;
+
+    @Setup(Level.Trial)
+    public void createPayload() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        payload = payload(items);
+    }
+
+    @Benchmark
+    public byte[] jsonString() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(payload).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] jsonBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] binary() {
+        return OrderEventBinaryCodec.encode(payload);
+    }
+
+    private static OrderKafkaPayload payload(int items) {
+        List<OrderKafkaItem> lines = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            lines.add(new OrderKafkaItem(UUID.randomUUID(), "Product " + i, i + 1, new BigDecimal("19.99")));
+        }
+        return new OrderKafkaPayload(
+            UUID.randomUUID(),
+            UUID.randomUUID(),
+            "Jane Example",
+            "jane@example.com",
+            "PENDING",
+            new BigDecimal("19.99").multiply(BigDecimal.valueOf(items)),
+            "EUR",
+            OffsetDateTime.now(ZoneOffset.UTC),
+            lines);
+    }
+
+    public static void main(String[] args) throws RunnerException, JsonProcessingException {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        for (int items : new int[] {1, 5, 25}) {
+            OrderKafkaPayload payload = payload(items);
+            System.out.printf("%2d items: json %5d bytes, binary %5d bytes%n",
+                items, objectMapper.writeValueAsBytes(payload).length, OrderEventBinaryCodec.encode(payload).length);
+        }
+        new Runner(new OptionsBuilder()
+            .include(OrderEventEncodingBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
@@ -0,0 +1,114 @@
+package com.portfolio.orders.benchmark;
+
+import com.portfolio.orders.entity.TimeOrderedUuidGenerator;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Insert throughput into a {@code BINARY(16)}-keyed copy of the {@code orders} table with random version 4 ids versus
+ * time-ordered version 7 ids, on a table that already holds {@code preloaded} rows. The gap widens on MySQL once the
+ * primary key no longer fits the buffer pool; H2 gives a lower bound without a server.
+ *
+ * <p>Not part of the unit test run; start {@link #main} from the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OrderIdInsertBenchmark {
+
+    private static final int BATCH = 500;
+
+    @Param({"random", "time_ordered"})
+    private String scheme;
+
+    @Param({"1000000"})
+    private int preloaded;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void createTable() throws SQLException {
+        ids = "random".equals(scheme) ? UUID::randomUUID : TimeOrderedUuidGenerator::next;
+        connection = DriverManager.getConnection("jdbc:h2:mem:orders-ids-" + scheme + ";DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                CREATE TABLE orders (
+                    id BINARY(16) NOT NULL PRIMARY KEY,
+                    user_id BINARY(16) NOT NULL,
+                    status VARCHAR(16) NOT NULL,
+                    total_amount DECIMAL(12, 2) NOT NULL,
+                    created_at TIMESTAMP(6) NOT NULL
+                )""");
+            ddl.execute("CREATE INDEX idx_orders_user_id ON orders (user_id)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(
+            "INSERT INTO orders (id, user_id, status, total_amount, created_at) VALUES (?, ?, 'PENDING', 10, CURRENT_TIMESTAMP)");
+        for (int i = 0; i < preloaded / BATCH; i++) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertOrders() throws SQLException {
+        insertBatch();
+    }
+
+    private void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH; i++) {
+            insert.setBytes(1, bytes(ids.get()));
+            insert.setBytes(2, bytes(UUID.randomUUID()));
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16)
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits())
+            .array();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(OrderIdInsertBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
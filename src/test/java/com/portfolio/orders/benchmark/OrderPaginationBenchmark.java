@@ -0,0 +1,157 @@
+package com.portfolio.orders.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Offset versus keyset pagination of the admin order listing at increasing depths, using the statements Hibernate
+ * issues for each mode against an in-memory H2 copy of the {@code orders} table and its {@code (created_at, id)}
+ * index. The offset mode includes the {@code COUNT(*)} it needs for totals.
+ *
+ * <p>Not part of the unit test run; start {@link #main} from the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OrderPaginationBenchmark {
+
+    private static final int ORDERS = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "1000", "100000", "900000"})
+    private int offset;
+
+    private Connection connection;
+    private PreparedStatement offsetPage;
+    private PreparedStatement countAll;
+    private PreparedStatement keysetPage;
+    private Timestamp cursorCreatedAt;
+    private byte[] cursorId;
+
+    @Setup(Level.Trial)
+    public void load() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:orders-pagination;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                CREATE TABLE orders (
+                    id BINARY(16) NOT NULL PRIMARY KEY,
+                    user_id BINARY(16) NOT NULL,
+                    status VARCHAR(16) NOT NULL,
+                    currency VARCHAR(3) NOT NULL,
+                    total_amount DECIMAL(12, 2) NOT NULL,
+                    created_at TIMESTAMP(6) NOT NULL
+                )""");
+            ddl.execute("CREATE INDEX idx_orders_created_at_id ON orders (created_at, id)");
+        }
+        Instant start = Instant.parse("2020-01-01T00:00:00Z");
+        try (PreparedStatement insert = connection.prepareStatement(
+            "INSERT INTO orders (id, user_id, status, currency, total_amount, created_at) VALUES (?, ?, 'PENDING', 'EUR', 10, ?)")) {
+            for (int i = 0; i < ORDERS; i++) {
+                insert.setBytes(1, bytes(UUID.randomUUID()));
+                insert.setBytes(2, bytes(UUID.randomUUID()));
+                insert.setTimestamp(3, Timestamp.from(start.plusSeconds(i)));
+                insert.addBatch();
+                if (i % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        offsetPage = connection.prepareStatement(
+            "SELECT id, created_at FROM orders ORDER BY created_at DESC, id DESC LIMIT ? OFFSET ?");
+        countAll = connection.prepareStatement("SELECT COUNT(*) FROM orders");
+        keysetPage = connection.prepareStatement("""
+            SELECT id, created_at FROM orders
+            WHERE created_at < ? OR (created_at = ? AND id < ?)
+            ORDER BY created_at DESC, id DESC LIMIT ?""");
+
+        // The cursor a client would hold after paging down to the same depth.
+        if (offset > 0) {
+            offsetPage.setInt(1, 1);
+            offsetPage.setInt(2, offset - 1);
+            try (ResultSet rs = offsetPage.executeQuery()) {
+                rs.next();
+                cursorId = rs.getBytes(1);
+                cursorCreatedAt = rs.getTimestamp(2);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void offsetPagination(Blackhole blackhole) throws SQLException {
+        offsetPage.setInt(1, PAGE_SIZE);
+        offsetPage.setInt(2, offset);
+        consume(offsetPage, blackhole);
+        consume(countAll, blackhole);
+    }
+
+    @Benchmark
+    public void keysetPagination(Blackhole blackhole) throws SQLException {
+        if (cursorCreatedAt == null) {
+            offsetPage.setInt(1, PAGE_SIZE + 1);
+            offsetPage.setInt(2, 0);
+            consume(offsetPage, blackhole);
+            return;
+        }
+        keysetPage.setTimestamp(1, cursorCreatedAt);
+        keysetPage.setTimestamp(2, cursorCreatedAt);
+        keysetPage.setBytes(3, cursorId);
+        keysetPage.setInt(4, PAGE_SIZE + 1);
+        consume(keysetPage, blackhole);
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getObject(1));
+            }
+        }
+    }
+
+    private static byte[] bytes(UUID id) {
+        return java.nio.ByteBuffer.allocate(16)
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits())
+            .array();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(OrderPaginationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -4,14 +4,25 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.portfolio.orders.exception.RemoteResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.web.reactive.function.client.WebClient;
 
 class CatalogClientTest {
@@ -27,7 +38,7 @@ class CatalogClientTest {
         WebClient webClient = WebClient.builder()
             .baseUrl(server.url("/").toString())
             .build();
-        client = new CatalogClient(webClient);
+        client = new CatalogClient(webClient, productCache(false));
         productId = UUID.randomUUID();
     }
 
@@ -58,4 +69,158 @@ class CatalogClientTest {
         assertThatThrownBy(() -> client.fetchProduct(productId))
             .isInstanceOf(RemoteResourceNotFoundException.class);
     }
+
+    @Test
+    void fetchProductsDeduplicatesIdsIntoSingleBulkRequest() throws InterruptedException {
+        UUID otherProductId = UUID.randomUUID();
+        server.enqueue(new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody("[%s,%s]".formatted(productJson(productId), productJson(otherProductId))));
+
+        Map<UUID, CatalogClient.CatalogProduct> products =
+            client.fetchProducts(List.of(productId, otherProductId, productId));
+
+        assertThat(products).containsOnlyKeys(productId, otherProductId);
+        assertThat(server.getRequestCount()).isEqualTo(1);
+        RecordedRequest request = server.takeRequest();
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getPath()).isEqualTo("/products/batch");
+        String body = request.getBody().readUtf8();
+        assertThat(body.split(productId.toString(), -1)).hasSize(2);
+    }
+
+    @Test
+    void fetchProductsFailsWhenCatalogOmitsAProduct() {
+        UUID missingProductId = UUID.randomUUID();
+        server.enqueue(new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody("[%s]".formatted(productJson(productId))));
+
+        assertThatThrownBy(() -> client.fetchProducts(List.of(productId, missingProductId)))
+            .isInstanceOf(RemoteResourceNotFoundException.class)
+            .hasMessageContaining(missingProductId.toString());
+    }
+
+    @Test
+    void findProductsLeavesUnknownProductsOut() {
+        UUID missingProductId = UUID.randomUUID();
+        server.enqueue(new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody("[%s]".formatted(productJson(productId))));
+
+        Map<UUID, CatalogClient.CatalogProduct> products =
+            client.findProductsAsync(List.of(productId, missingProductId)).join();
+
+        assertThat(products).containsOnlyKeys(productId);
+    }
+
+    @Test
+    void fetchProductsFansOutWhenBulkEndpointIsMissing() {
+        server.setDispatcher(catalogWithoutBulkEndpoint());
+        List<UUID> basket = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        Map<UUID, CatalogClient.CatalogProduct> first = client.fetchProducts(basket);
+        int requestsAfterFirstLookup = server.getRequestCount();
+        Map<UUID, CatalogClient.CatalogProduct> second = client.fetchProducts(basket);
+
+        assertThat(first).containsOnlyKeys(basket);
+        assertThat(second).containsOnlyKeys(basket);
+        assertThat(requestsAfterFirstLookup).isEqualTo(basket.size() + 1);
+        assertThat(server.getRequestCount() - requestsAfterFirstLookup).isEqualTo(basket.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20, 40})
+    void bulkLookupNeedsOneRoundTripWhateverTheBasketSize(int basketSize) throws InterruptedException {
+        server.setDispatcher(catalogWithBulkEndpoint());
+        List<UUID> basket = new ArrayList<>();
+        for (int i = 0; i < basketSize; i++) {
+            basket.add(UUID.randomUUID());
+        }
+
+        basket.forEach(client::fetchProduct);
+        int sequentialRoundTrips = server.getRequestCount();
+        for (int i = 0; i < sequentialRoundTrips; i++) {
+            assertThat(server.takeRequest().getPath()).startsWith("/products/").isNotEqualTo("/products/batch");
+        }
+
+        Map<UUID, CatalogClient.CatalogProduct> products = client.fetchProducts(basket);
+        int bulkRoundTrips = server.getRequestCount() - sequentialRoundTrips;
+
+        assertThat(products).containsOnlyKeys(basket);
+        assertThat(sequentialRoundTrips).isEqualTo(basketSize);
+        assertThat(bulkRoundTrips).isEqualTo(1);
+        assertThat(server.takeRequest().getPath()).isEqualTo("/products/batch");
+    }
+
+    @Test
+    void cachedProductsSkipCatalogRoundTrips() {
+        server.setDispatcher(catalogWithBulkEndpoint());
+        CatalogClient cachingClient = new CatalogClient(
+            WebClient.builder().baseUrl(server.url("/").toString()).build(),
+            productCache(true)
+        );
+        UUID otherProductId = UUID.randomUUID();
+
+        cachingClient.fetchProduct(productId);
+        Map<UUID, CatalogClient.CatalogProduct> products = cachingClient.fetchProducts(List.of(productId, otherProductId));
+        cachingClient.fetchProducts(List.of(productId, otherProductId));
+
+        assertThat(products).containsOnlyKeys(productId, otherProductId);
+        assertThat(server.getRequestCount()).isEqualTo(2);
+    }
+
+    private CatalogProductCache productCache(boolean enabled) {
+        return new CatalogProductCache(
+            new CatalogCacheProperties(enabled, 100, Duration.ofMinutes(1), null),
+            new SimpleMeterRegistry()
+        );
+    }
+
+    private Dispatcher catalogWithBulkEndpoint() {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if ("/products/batch".equals(request.getPath())) {
+                    String ids = request.getBody().readUtf8().replaceAll("[\\[\\]\"\\s]", "");
+                    String products = Arrays.stream(ids.split(","))
+                        .filter(id -> !id.isEmpty())
+                        .map(id -> productJson(UUID.fromString(id)))
+                        .collect(Collectors.joining(","));
+                    return jsonResponse("[" + products + "]");
+                }
+                return singleProductResponse(request);
+            }
+        };
+    }
+
+    private Dispatcher catalogWithoutBulkEndpoint() {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if ("/products/batch".equals(request.getPath())) {
+                    return new MockResponse().setResponseCode(404);
+                }
+                return singleProductResponse(request);
+            }
+        };
+    }
+
+    private MockResponse singleProductResponse(RecordedRequest request) {
+        String path = request.getPath() == null ? "" : request.getPath();
+        UUID id = UUID.fromString(path.substring(path.lastIndexOf('/') + 1));
+        return jsonResponse(productJson(id));
+    }
+
+    private MockResponse jsonResponse(String body) {
+        return new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody(body);
+    }
+
+    private String productJson(UUID id) {
+        return """
+            {"id":"%s","name":"Portfolio Review","sku":"PORT-01","price":19.99,"currency":"EUR"}
+            """.formatted(id).trim();
+    }
 }
@@ -0,0 +1,68 @@
+package com.portfolio.orders.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CatalogProductCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private CatalogProductCache cache;
+    private CatalogClient.CatalogProduct product;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new CatalogProductCache(new CatalogCacheProperties(true, 100, Duration.ofMinutes(1), null), registry);
+        product = new CatalogClient.CatalogProduct(UUID.randomUUID(), "Portfolio Review", "PORT-01", BigDecimal.TEN, "EUR");
+    }
+
+    @Test
+    void recordsHitsAndMisses() {
+        assertThat(cache.get(product.id())).isEmpty();
+        cache.put(product.id(), product);
+        assertThat(cache.get(product.id())).contains(product);
+
+        assertThat(registry.get("cache.gets").tag("cache", "catalog-products").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", "catalog-products").tag("result", "miss")
+            .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateDropsChangedProduct() {
+        UUID otherId = UUID.randomUUID();
+        cache.put(product.id(), product);
+        cache.put(otherId, product);
+
+        cache.invalidate(product.id());
+
+        assertThat(cache.getAllPresent(List.of(product.id(), otherId))).containsOnlyKeys(otherId);
+    }
+
+    @Test
+    void entriesExpireAfterTtl() throws InterruptedException {
+        CatalogProductCache shortLived = new CatalogProductCache(
+            new CatalogCacheProperties(true, 100, Duration.ofMillis(50), null), registry);
+        shortLived.put(product.id(), product);
+
+        Thread.sleep(120);
+
+        assertThat(shortLived.get(product.id())).isEmpty();
+    }
+
+    @Test
+    void disabledCacheNeverStores() {
+        CatalogProductCache disabled = new CatalogProductCache(
+            new CatalogCacheProperties(false, 100, Duration.ofMinutes(1), null), new SimpleMeterRegistry());
+        disabled.put(product.id(), product);
+
+        assertThat(disabled.get(product.id())).isEmpty();
+    }
+}
@@ -4,7 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.portfolio.orders.exception.RemoteResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.UUID;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -26,7 +28,7 @@ class UsersClientTest {
         WebClient webClient = WebClient.builder()
             .baseUrl(server.url("/").toString())
             .build();
-        client = new UsersClient(webClient);
+        client = new UsersClient(webClient, userCache(false));
         userId = UUID.randomUUID();
     }
 
@@ -65,4 +67,64 @@ class UsersClientTest {
         assertThatThrownBy(() -> client.fetchUser(userId))
             .isInstanceOf(RemoteResourceNotFoundException.class);
     }
+
+    @Test
+    void fetchUserServesRepeatCustomersFromCache() {
+        UsersClient cachingClient = cachingClient();
+        server.enqueue(userResponse());
+
+        UsersClient.UserResponse first = cachingClient.fetchUser(userId);
+        UsersClient.UserResponse second = cachingClient.fetchUserAsync(userId).join();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void fetchUserRemembersUnknownUsers() {
+        UsersClient cachingClient = cachingClient();
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        assertThatThrownBy(() -> cachingClient.fetchUser(userId))
+            .isInstanceOf(RemoteResourceNotFoundException.class);
+        assertThatThrownBy(() -> cachingClient.fetchUser(userId))
+            .isInstanceOf(RemoteResourceNotFoundException.class);
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void fetchUserFallbackServesLastKnownProfile() {
+        UsersClient cachingClient = cachingClient();
+        server.enqueue(userResponse());
+        UsersClient.UserResponse known = cachingClient.fetchUser(userId);
+
+        UsersClient.UserResponse fallback = cachingClient.fetchUserFallback(userId, new RuntimeException("circuit open"));
+
+        assertThat(fallback).isEqualTo(known);
+        assertThatThrownBy(() -> cachingClient.fetchUserFallback(UUID.randomUUID(), new RuntimeException("circuit open")))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("unavailable");
+    }
+
+    private UsersClient cachingClient() {
+        WebClient webClient = WebClient.builder()
+            .baseUrl(server.url("/").toString())
+            .build();
+        return new UsersClient(webClient, userCache(true));
+    }
+
+    private UserProfileCache userCache(boolean enabled) {
+        return new UserProfileCache(
+            new UserCacheProperties(enabled, 100, Duration.ofMinutes(5), Duration.ofSeconds(30), true, Duration.ofHours(1)),
+            new SimpleMeterRegistry()
+        );
+    }
+
+    private MockResponse userResponse() {
+        return new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody("""
+                {"id":"%s","fullName":"Portfolio User","email":"portfolio@example.com"}
+                """.formatted(userId));
+    }
 }
@@ -0,0 +1,95 @@
+package com.portfolio.orders.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.portfolio.orders.security.SecurityFacade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final SecurityFacade securityFacade = mock(SecurityFacade.class);
+    private SimpleMeterRegistry registry;
+    private ReplicaPool first;
+    private ReplicaPool second;
+    private ReadReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        first = new ReplicaPool("replica-1", mock(DataSource.class));
+        second = new ReplicaPool("replica-2", mock(DataSource.class));
+        routing = new ReadReplicaRoutingDataSource(mock(DataSource.class), List.of(first, second),
+            Duration.ofMinutes(1), securityFacade, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void writesGoToPrimary() {
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void readOnlyTransactionsRotateAcrossReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(List.of(routing.determineCurrentLookupKey(), routing.determineCurrentLookupKey()))
+            .containsExactlyInAnyOrder("replica-1", "replica-2");
+        assertThat(registry.get("orders_datasource_routing").tag("reason", "read").counters()).hasSize(2);
+    }
+
+    @Test
+    void unhealthyReplicasAreSkipped() throws SQLException {
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("connection refused"));
+        ReplicaPool down = new ReplicaPool("replica-down", unreachable);
+        down.refreshLag(Duration.ofSeconds(5));
+        routing = new ReadReplicaRoutingDataSource(mock(DataSource.class), List.of(down, second),
+            Duration.ofMinutes(1), securityFacade, registry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(down.isHealthy()).isFalse();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-2");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-2");
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenNoReplicaIsHealthy() throws SQLException {
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("connection refused"));
+        ReplicaPool down = new ReplicaPool("replica-down", unreachable);
+        down.refreshLag(Duration.ofSeconds(5));
+        routing = new ReadReplicaRoutingDataSource(mock(DataSource.class), List.of(down),
+            Duration.ofMinutes(1), securityFacade, registry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromPrimary() {
+        UUID userId = UUID.randomUUID();
+        when(securityFacade.getCurrentUserId()).thenReturn(userId);
+        routing.determineCurrentLookupKey();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+        when(securityFacade.getCurrentUserId()).thenReturn(UUID.randomUUID());
+        assertThat(routing.determineCurrentLookupKey()).isNotEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+    }
+}
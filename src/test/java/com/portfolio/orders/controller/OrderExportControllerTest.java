@@ -0,0 +1,117 @@
+package com.portfolio.orders.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.portfolio.orders.entity.OrderStatus;
+import com.portfolio.orders.exception.GlobalExceptionHandler;
+import com.portfolio.orders.export.OrderExportFormat;
+import com.portfolio.orders.export.OrderExportQuery;
+import com.portfolio.orders.export.OrderExportService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class OrderExportControllerTest {
+
+    private static final String ROWS = "{\"id\":\"1\"}\n{\"id\":\"2\"}\n";
+
+    private final OrderExportService exportService = mock(OrderExportService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new OrderExportController(exportService))
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .build();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write(ROWS.getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(exportService).export(any(), any(), any());
+    }
+
+    @Test
+    void streamsNdjsonByDefault() throws Exception {
+        mockMvc.perform(get("/orders/export").param("status", "SHIPPED").param("includeItems", "true"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson;charset=UTF-8"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders-export.ndjson\""))
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(content().string(ROWS));
+
+        verify(exportService).export(eq(new OrderExportQuery(null, null, OrderStatus.SHIPPED, true)),
+            eq(OrderExportFormat.NDJSON), any());
+    }
+
+    @Test
+    void picksCsvFromTheAcceptHeader() throws Exception {
+        mockMvc.perform(get("/orders/export").header(HttpHeaders.ACCEPT, "application/x-ndjson;q=0.5, text/csv"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"));
+
+        verify(exportService).export(any(), eq(OrderExportFormat.CSV), any());
+    }
+
+    @Test
+    void letsTheFormatParameterOverrideTheAcceptHeader() throws Exception {
+        mockMvc.perform(get("/orders/export").param("format", "ndjson").header(HttpHeaders.ACCEPT, "text/csv, */*"))
+            .andExpect(status().isOk());
+
+        verify(exportService).export(any(), eq(OrderExportFormat.NDJSON), any());
+    }
+
+    @Test
+    void refusesMediaTypesItCannotProduce() throws Exception {
+        mockMvc.perform(get("/orders/export").header(HttpHeaders.ACCEPT, "application/json"))
+            .andExpect(status().isNotAcceptable());
+
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void rejectsUnknownFormats() throws Exception {
+        mockMvc.perform(get("/orders/export").param("format", "xml"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void gzipsTheBodyWhenTheClientAcceptsIt() throws Exception {
+        MvcResult result = mockMvc.perform(get("/orders/export")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andReturn();
+
+        try (GZIPInputStream body = new GZIPInputStream(
+            new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(ROWS);
+        }
+    }
+
+    @Test
+    void skipsGzipWhenTheClientRefusesIt() throws Exception {
+        mockMvc.perform(get("/orders/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(content().string(ROWS));
+    }
+}
@@ -0,0 +1,33 @@
+package com.portfolio.orders.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class OrderStatusTest {
+
+    @Test
+    void ordersMoveForwardOrGetCancelledBeforeShipping() {
+        assertThat(OrderStatus.PENDING.canTransitionTo(OrderStatus.CONFIRMED)).isTrue();
+        assertThat(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.SHIPPED)).isTrue();
+        assertThat(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.DELIVERED)).isTrue();
+        assertThat(OrderStatus.PENDING.canTransitionTo(OrderStatus.CANCELLED)).isTrue();
+        assertThat(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.CANCELLED)).isTrue();
+
+        assertThat(OrderStatus.PENDING.canTransitionTo(OrderStatus.SHIPPED)).isFalse();
+        assertThat(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.CANCELLED)).isFalse();
+        assertThat(OrderStatus.CANCELLED.canTransitionTo(OrderStatus.CONFIRMED)).isFalse();
+        assertThat(OrderStatus.DELIVERED.canTransitionTo(OrderStatus.PENDING)).isFalse();
+    }
+
+    @Test
+    void pendingIsOnlyReachedOnCreation() {
+        assertThat(OrderStatus.PENDING.predecessors()).isEmpty();
+    }
+
+    @Test
+    void onlyDeliveredAndCancelledAreTerminal() {
+        assertThat(OrderStatus.values()).filteredOn(OrderStatus::isTerminal)
+            .containsExactlyInAnyOrder(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+    }
+}
@@ -0,0 +1,44 @@
+package com.portfolio.orders.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void generatesVersion7Uuids() {
+        UUID id = TimeOrderedUuidGenerator.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isCloseTo(System.currentTimeMillis(),
+            org.assertj.core.data.Offset.offset(5_000L));
+    }
+
+    @Test
+    void idsSortInCreationOrderAsStoredBytes() {
+        List<byte[]> stored = new ArrayList<>();
+        Set<UUID> unique = new HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            UUID id = TimeOrderedUuidGenerator.next();
+            unique.add(id);
+            stored.add(ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array());
+        }
+
+        assertThat(unique).hasSize(50_000);
+        for (int i = 1; i < stored.size(); i++) {
+            assertThat(Arrays.compareUnsigned(stored.get(i - 1), stored.get(i))).isNegative();
+        }
+    }
+}
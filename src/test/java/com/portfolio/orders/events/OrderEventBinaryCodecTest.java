@@ -0,0 +1,82 @@
+package com.portfolio.orders.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.portfolio.orders.events.OrderKafkaEventPublisher.OrderKafkaItem;
+import com.portfolio.orders.events.OrderKafkaEventPublisher.OrderKafkaPayload;
+import com.portfolio.orders.events.OrderNotificationPublisher.OrderNotificationPayload;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class OrderEventBinaryCodecTest {
+
+    private final OrderKafkaPayload checkout = new OrderKafkaPayload(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        "Zoë Example",
+        "zoe@example.com",
+        "PENDING",
+        new BigDecimal("129.90"),
+        "EUR",
+        OffsetDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000, ZoneOffset.ofHours(-3)),
+        List.of(
+            new OrderKafkaItem(UUID.randomUUID(), "Gateway", 2, new BigDecimal("49.95")),
+            new OrderKafkaItem(UUID.randomUUID(), null, null, new BigDecimal("-30"))));
+
+    @Test
+    void roundTripsCheckoutEventsIncludingMissingFields() {
+        assertThat(OrderEventBinaryCodec.decodeCheckout(OrderEventBinaryCodec.encode(checkout))).isEqualTo(checkout);
+
+        OrderKafkaPayload sparse = new OrderKafkaPayload(UUID.randomUUID(), null, null, null, null, null, null, null, null);
+        assertThat(OrderEventBinaryCodec.decodeCheckout(OrderEventBinaryCodec.encode(sparse))).isEqualTo(sparse);
+    }
+
+    @Test
+    void roundTripsNotifications() {
+        OrderNotificationPayload notification =
+            new OrderNotificationPayload(UUID.randomUUID(), "CONFIRMED", new BigDecimal("10.00"));
+
+        byte[] encoded = OrderEventBinaryCodec.encode(notification);
+
+        assertThat(OrderEventBinaryCodec.decodeNotification(encoded)).isEqualTo(notification);
+        assertThat(encoded).hasSize(32);
+    }
+
+    @Test
+    void isMuchSmallerThanJson() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        byte[] binary = OrderEventBinaryCodec.encode(checkout);
+        byte[] json = objectMapper.writeValueAsBytes(checkout);
+
+        assertThat(binary.length * 2).isLessThan(json.length);
+    }
+
+    @Test
+    void rejectsOtherVersionsAndPayloadTypes() {
+        byte[] encoded = OrderEventBinaryCodec.encode(checkout);
+
+        assertThatThrownBy(() -> OrderEventBinaryCodec.decodeNotification(encoded))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("type");
+        encoded[0] = 2;
+        assertThatThrownBy(() -> OrderEventBinaryCodec.decodeCheckout(encoded))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("version");
+    }
+
+    @Test
+    void rejectsAmountsThatDoNotFitAScaledLong() {
+        OrderNotificationPayload huge =
+            new OrderNotificationPayload(UUID.randomUUID(), "PENDING", new BigDecimal("1e30").setScale(2));
+
+        assertThatThrownBy(() -> OrderEventBinaryCodec.encode(huge)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
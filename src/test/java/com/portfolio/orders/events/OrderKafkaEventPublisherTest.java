@@ -0,0 +1,118 @@
+package com.portfolio.orders.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.orders.entity.OrderOutboxEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+class OrderKafkaEventPublisherTest {
+
+    private static final byte[] PAYLOAD = "{}".getBytes(StandardCharsets.UTF_8);
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderKafkaEventPublisher publisher = new OrderKafkaEventPublisher(
+        kafkaTemplate,
+        new OrderEventEncoder(new ObjectMapper(), new OrderEventProperties(OrderEventEncoding.JSON)),
+        new OrderKafkaProperties("orders-checkout-events", 1, Duration.ofMillis(10)),
+        registry);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void tagsEachRecordWithItsContentType() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        publisher.publish(List.of(message("order-1", OrderEventEncoding.BINARY.contentType())));
+
+        ArgumentCaptor<ProducerRecord<String, byte[]>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(record.capture());
+        assertThat(record.getValue().topic()).isEqualTo("orders-checkout-events");
+        assertThat(record.getValue().key()).isEqualTo("order-1");
+        assertThat(new String(record.getValue().headers().lastHeader("contentType").value(), StandardCharsets.UTF_8))
+            .isEqualTo(OrderEventEncoding.BINARY.contentType());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refusesSendsWhileTheInFlightLimitIsTaken() {
+        CompletableFuture<SendResult<String, byte[]>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(pending, new CompletableFuture<>());
+
+        CompletableFuture<Set<UUID>> first = publisher.publish(List.of(message("order-1")));
+        CompletableFuture<Set<UUID>> second = publisher.publish(List.of(message("order-2")));
+
+        assertThat(first).isNotDone();
+        assertThat(second).isCompletedWithValue(Set.of());
+        assertThat(registry.get("orders_kafka_in_flight").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("orders_kafka_send_throttled").counter().count()).isEqualTo(1);
+
+        pending.complete(null);
+        publisher.publish(List.of(message("order-3")));
+
+        verify(kafkaTemplate, times(2)).send(any(ProducerRecord.class));
+        assertThat(first).isDone();
+        assertThat(registry.get("orders_kafka_send_duration").tag("outcome", "acknowledged").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void leavesTheRestOfABatchUnsentOnceTheLimitStaysFull() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+
+        CompletableFuture<Set<UUID>> delivered = publisher.publish(
+            List.of(message("order-1"), message("order-2"), message("order-3")));
+
+        verify(kafkaTemplate).send(any(ProducerRecord.class));
+        verify(kafkaTemplate).flush();
+        assertThat(delivered).isNotDone();
+        assertThat(registry.get("orders_kafka_send_throttled").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void releasesThePermitAndCountsTheFailureWhenTheBrokerRejects() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+            .thenReturn(CompletableFuture.failedFuture(new KafkaException("not enough replicas")));
+
+        assertThat(publisher.publish(List.of(message("order-1")))).isCompletedWithValue(Set.of());
+        assertThat(publisher.publish(List.of(message("order-2")))).isCompletedWithValue(Set.of());
+
+        verify(kafkaTemplate, times(2)).send(any(ProducerRecord.class));
+        assertThat(registry.get("orders_kafka_in_flight").gauge().value()).isZero();
+        assertThat(registry.get("orders_kafka_send_duration").tag("outcome", "failed").timer().count()).isEqualTo(2);
+        assertThat(registry.get("orders_kafka_send_throttled").counter().count()).isZero();
+    }
+
+    private static OrderOutboxEntity message(String key) {
+        return message(key, "application/json");
+    }
+
+    private static OrderOutboxEntity message(String key, String contentType) {
+        return OrderOutboxEntity.builder()
+            .id(UUID.randomUUID())
+            .messageKey(key)
+            .payload(PAYLOAD)
+            .contentType(contentType)
+            .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.portfolio.orders.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.orders.entity.OrderOutboxEntity;
+import com.portfolio.orders.entity.OutboxDestination;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+class OrderNotificationPublisherTest {
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations operations = mock(RabbitOperations.class);
+    private final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<CorrelationData> correlations = new ArrayList<>();
+    private final OrderNotificationPublisher publisher = new OrderNotificationPublisher(rabbitTemplate,
+        new OrderNotificationProperties("order.events.exchange", "orders.notification.*", true, 2,
+            Duration.ofMillis(10), Duration.ofMillis(10), null),
+        new OrderEventEncoder(new ObjectMapper(), new OrderEventProperties(null)), registry);
+
+    @BeforeEach
+    void setUp() {
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+            invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+        doAnswer(invocation -> correlations.add(invocation.getArgument(3)))
+            .when(operations).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void reportsOnlyConfirmedNotificationsAsDelivered() {
+        OrderOutboxEntity acked = message();
+        OrderOutboxEntity nacked = message();
+
+        CompletableFuture<Set<UUID>> published = publisher.publish(List.of(acked, nacked));
+
+        assertThat(published).isNotDone();
+        assertThat(registry.get("orders_rabbit_unconfirmed").gauge().value()).isEqualTo(2);
+        correlations.get(0).getFuture().complete(new CorrelationData.Confirm(true, null));
+        correlations.get(1).getFuture().complete(new CorrelationData.Confirm(false, "queue full"));
+
+        assertThat(published.join()).containsExactly(acked.getId());
+        assertThat(correlations.get(0).getId()).isEqualTo(acked.getId().toString());
+        assertThat(registry.get("orders_rabbit_nacked").counter().count()).isEqualTo(1);
+        assertThat(registry.get("orders_rabbit_confirm_duration").tag("outcome", "ack").timer().count()).isEqualTo(1);
+        assertThat(registry.get("orders_rabbit_unconfirmed").gauge().value()).isZero();
+    }
+
+    @Test
+    void defersWhatDoesNotFitUnderTheUnconfirmedLimit() {
+        OrderOutboxEntity first = message();
+        OrderOutboxEntity second = message();
+
+        CompletableFuture<Set<UUID>> published = publisher.publish(List.of(first, second, message()));
+        correlations.forEach(correlation -> correlation.getFuture().complete(new CorrelationData.Confirm(true, null)));
+
+        assertThat(correlations).hasSize(2);
+        assertThat(published.join()).containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(registry.get("orders_rabbit_send_throttled").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void countsUnroutableNotificationsWithoutResendingThem() {
+        OrderOutboxEntity message = message();
+
+        CompletableFuture<Set<UUID>> published = publisher.publish(List.of(message));
+        CorrelationData correlation = correlations.get(0);
+        correlation.setReturned(new ReturnedMessage(new Message(message.getPayload()), 312, "NO_ROUTE",
+            "order.events.exchange", message.getMessageKey()));
+        correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+
+        assertThat(published.join()).containsExactly(message.getId());
+        assertThat(registry.get("orders_rabbit_returned").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sendsWithoutCorrelationWhenConfirmsAreOff() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(false);
+        OrderOutboxEntity message = message();
+
+        assertThat(publisher.publish(List.of(message)).join()).containsExactly(message.getId());
+        verify(operations).send(eq("order.events.exchange"), eq(message.getMessageKey()), any(Message.class));
+        assertThat(correlations).isEmpty();
+    }
+
+    @Test
+    void drainsOutstandingConfirmsOnShutdown() throws InterruptedException {
+        publisher.publish(List.of(message()));
+        correlations.get(0).getFuture().complete(new CorrelationData.Confirm(true, null));
+
+        publisher.destroy();
+
+        assertThat(registry.get("orders_rabbit_unconfirmed").gauge().value()).isZero();
+    }
+
+    private static OrderOutboxEntity message() {
+        UUID orderId = UUID.randomUUID();
+        return OrderOutboxEntity.builder()
+            .id(UUID.randomUUID())
+            .aggregateId(orderId)
+            .destination(OutboxDestination.RABBITMQ)
+            .messageKey("orders.notification.confirmed")
+            .payload("{\"orderId\":\"%s\"}".formatted(orderId).getBytes(StandardCharsets.UTF_8))
+            .contentType("application/json")
+            .createdAt(OffsetDateTime.now())
+            .build();
+    }
+}
@@ -0,0 +1,207 @@
+package com.portfolio.orders.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.portfolio.orders.entity.OrderOutboxEntity;
+import com.portfolio.orders.entity.OutboxDestination;
+import com.portfolio.orders.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class OrderOutboxRelayTest {
+
+    private final OrderOutboxRepository repository = mock(OrderOutboxRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final OrderEventSink kafkaSink = sink(OutboxDestination.KAFKA);
+    private final OrderEventSink rabbitSink = sink(OutboxDestination.RABBITMQ);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderOutboxRelay relay = new OrderOutboxRelay(
+        repository,
+        transactionManager,
+        List.of(kafkaSink, rabbitSink),
+        new OrderOutboxProperties(true, 3, null, Duration.ofMillis(200), null, 0, Duration.ofSeconds(1),
+            Duration.ofMinutes(1)),
+        registry);
+
+    @AfterEach
+    void shutDown() {
+        relay.destroy();
+    }
+
+    @Test
+    void marksDeliveredMessagesSentAndCountsFailuresAsAttempts() {
+        OrderOutboxEntity created = message(OutboxDestination.KAFKA, "order-1");
+        OrderOutboxEntity rejected = message(OutboxDestination.KAFKA, "order-2");
+        OrderOutboxEntity notification = message(OutboxDestination.RABBITMQ, "orders.notification.pending");
+        when(repository.lockUnsent(any(OffsetDateTime.class), any(Pageable.class))).thenReturn(List.of(created, rejected, notification));
+        when(kafkaSink.publish(List.of(created, rejected)))
+            .thenReturn(CompletableFuture.completedFuture(Set.of(created.getId())));
+        when(rabbitSink.publish(List.of(notification)))
+            .thenReturn(CompletableFuture.completedFuture(Set.of(notification.getId())));
+
+        int sent = relay.relayBatch();
+
+        assertThat(sent).isZero();
+        verify(repository).markSent(eq(Set.of(created.getId(), notification.getId())), any(OffsetDateTime.class));
+        verify(repository).recordFailedAttempt(eq(List.of(rejected.getId())), any(OffsetDateTime.class));
+        assertThat(registry.get("orders_outbox_published").tag("destination", "kafka").tag("result", "sent")
+            .counter().count()).isEqualTo(1);
+        assertThat(registry.get("orders_outbox_published").tag("destination", "kafka").tag("result", "failed")
+            .counter().count()).isEqualTo(1);
+        assertThat(registry.get("orders_outbox_published").tag("destination", "rabbitmq").tag("result", "sent")
+            .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void aStalledSinkDoesNotHoldBackTheOtherOne() {
+        OrderOutboxEntity created = message(OutboxDestination.KAFKA, "order-1");
+        OrderOutboxEntity notification = message(OutboxDestination.RABBITMQ, "orders.notification.pending");
+        when(repository.lockUnsent(any(OffsetDateTime.class), any(Pageable.class))).thenReturn(List.of(created, notification));
+        when(kafkaSink.publish(anyList())).thenReturn(new CompletableFuture<>());
+        when(rabbitSink.publish(anyList())).thenReturn(CompletableFuture.completedFuture(Set.of(notification.getId())));
+
+        relay.relayBatch();
+
+        verify(repository).markSent(eq(Set.of(notification.getId())), any(OffsetDateTime.class));
+        verify(repository).recordFailedAttempt(eq(List.of(created.getId())), any(OffsetDateTime.class));
+    }
+
+    @Test
+    void keepsDrainingWhileBatchesComeBackFull() {
+        List<OrderOutboxEntity> full = List.of(
+            message(OutboxDestination.RABBITMQ, "a"),
+            message(OutboxDestination.RABBITMQ, "b"),
+            message(OutboxDestination.RABBITMQ, "c"));
+        OrderOutboxEntity last = message(OutboxDestination.RABBITMQ, "d");
+        when(repository.lockUnsent(any(OffsetDateTime.class), any(Pageable.class))).thenReturn(full).thenReturn(List.of(last));
+        when(rabbitSink.publish(anyList())).thenAnswer(invocation -> CompletableFuture.completedFuture(Set.copyOf(
+            invocation.<List<OrderOutboxEntity>>getArgument(0).stream().map(OrderOutboxEntity::getId).toList())));
+        when(repository.countBySentAtIsNull()).thenReturn(0L);
+
+        relay.relay();
+
+        verify(rabbitSink).publish(full);
+        verify(rabbitSink).publish(List.of(last));
+        verify(repository, never()).recordFailedAttempt(anyList(), any());
+        verify(kafkaSink, never()).publish(anyList());
+        assertThat(registry.get("orders_outbox_pending").gauge().value()).isZero();
+        assertThat(registry.get("orders_outbox_lag_seconds").gauge().value()).isZero();
+    }
+
+    @Test
+    void claimsTheBatchAndCommitsBeforeSending() {
+        OrderOutboxEntity created = message(OutboxDestination.KAFKA, "order-1");
+        when(repository.lockUnsent(any(OffsetDateTime.class), any(Pageable.class))).thenReturn(List.of(created));
+        when(kafkaSink.publish(anyList())).thenReturn(CompletableFuture.completedFuture(Set.of(created.getId())));
+
+        relay.relayBatch();
+
+        InOrder inOrder = inOrder(repository, transactionManager, kafkaSink);
+        inOrder.verify(repository).claim(eq(List.of(created.getId())), any(OffsetDateTime.class));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(kafkaSink).publish(List.of(created));
+        inOrder.verify(repository).markSent(eq(Set.of(created.getId())), any(OffsetDateTime.class));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void sendsAnOrdersMessagesOneAfterTheOther() {
+        UUID orderId = UUID.randomUUID();
+        OrderOutboxEntity created = message(OutboxDestination.KAFKA, orderId, 0);
+        OrderOutboxEntity updated = message(OutboxDestination.KAFKA, orderId, 0);
+        OrderOutboxEntity other = message(OutboxDestination.KAFKA, "order-2");
+        when(repository.lockUnsent(any(OffsetDateTime.class), any(Pageable.class)))
+            .thenReturn(List.of(created, updated, other));
+        when(kafkaSink.publish(anyList())).thenAnswer(invocation -> CompletableFuture.completedFuture(Set.copyOf(
+            invocation.<List<OrderOutboxEntity>>getArgument(0).stream().map(OrderOutboxEntity::getId).toList())));
+
+        assertThat(relay.relayBatch()).isEqualTo(3);
+
+        InOrder inOrder = inOrder(kafkaSink);
+        inOrder.verify(kafkaSink).publish(List.of(created, other));
+        inOrder.verify(kafkaSink).publish(List.of(updated));
+        verify(repository).markSent(eq(Set.of(created.getId(), updated.getId(), other.getId())),
+            any(OffsetDateTime.class));
+    }
+
+    @Test
+    void putsBackLaterMessagesOfAnOrderWhoseEarlierOneFailed() {
+        UUID orderId = UUID.randomUUID();
+        OrderOutboxEntity created = message(OutboxDestination.KAFKA, orderId, 0);
+        OrderOutboxEntity updated = message(OutboxDestination.KAFKA, orderId, 0);
+        when(repository.lockUnsent(any(OffsetDateTime.class), any(Pageable.class))).thenReturn(List.of(created, updated));
+        when(kafkaSink.publish(anyList())).thenReturn(CompletableFuture.completedFuture(Set.of()));
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verify(kafkaSink).publish(List.of(created));
+        verify(kafkaSink, never()).publish(List.of(updated));
+        verify(repository).recordFailedAttempt(eq(List.of(created.getId())), any(OffsetDateTime.class));
+        verify(repository).release(List.of(updated.getId()));
+        verify(repository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void backsOffExponentiallyUpToTheCap() {
+        OrderOutboxEntity thirdFailure = message(OutboxDestination.KAFKA, UUID.randomUUID(), 2);
+        OrderOutboxEntity longFailing = message(OutboxDestination.KAFKA, UUID.randomUUID(), 12);
+        when(repository.lockUnsent(any(OffsetDateTime.class), any(Pageable.class)))
+            .thenReturn(List.of(thirdFailure, longFailing));
+        when(kafkaSink.publish(anyList())).thenReturn(CompletableFuture.completedFuture(Set.of()));
+        OffsetDateTime before = OffsetDateTime.now();
+
+        relay.relayBatch();
+
+        ArgumentCaptor<OffsetDateTime> retryAt = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(repository).recordFailedAttempt(eq(List.of(thirdFailure.getId())), retryAt.capture());
+        assertThat(retryAt.getValue()).isBetween(before.plusSeconds(4), OffsetDateTime.now().plusSeconds(4));
+        verify(repository).recordFailedAttempt(eq(List.of(longFailing.getId())), retryAt.capture());
+        assertThat(retryAt.getValue()).isBetween(before.plusMinutes(1), OffsetDateTime.now().plusMinutes(1));
+    }
+
+    private static OrderEventSink sink(OutboxDestination destination) {
+        OrderEventSink sink = mock(OrderEventSink.class);
+        when(sink.destination()).thenReturn(destination);
+        return sink;
+    }
+
+    private static OrderOutboxEntity message(OutboxDestination destination, String key) {
+        return message(destination, UUID.randomUUID(), key, 0);
+    }
+
+    private static OrderOutboxEntity message(OutboxDestination destination, UUID orderId, int attempts) {
+        return message(destination, orderId, orderId.toString(), attempts);
+    }
+
+    private static OrderOutboxEntity message(OutboxDestination destination, UUID orderId, String key, int attempts) {
+        return OrderOutboxEntity.builder()
+            .id(UUID.randomUUID())
+            .aggregateId(orderId)
+            .destination(destination)
+            .messageKey(key)
+            .payload(new byte[] {1})
+            .contentType("application/json")
+            .createdAt(OffsetDateTime.now())
+            .attempts(attempts)
+            .build();
+    }
+}
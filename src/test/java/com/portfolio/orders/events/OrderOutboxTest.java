@@ -0,0 +1,198 @@
+package com.portfolio.orders.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.portfolio.orders.entity.OrderEntity;
+import com.portfolio.orders.entity.OrderItemEntity;
+import com.portfolio.orders.entity.OrderOutboxEntity;
+import com.portfolio.orders.entity.OrderStatus;
+import com.portfolio.orders.entity.OutboxDestination;
+import com.portfolio.orders.metrics.OrdersMetrics;
+import com.portfolio.orders.repository.OrderOutboxRepository;
+import com.portfolio.orders.repository.OrderStatusView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+
+class OrderOutboxTest {
+
+    private final OrderOutboxRepository repository = mock(OrderOutboxRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderEventEncoder encoder = new OrderEventEncoder(
+        new ObjectMapper().registerModule(new JavaTimeModule()), new OrderEventProperties(OrderEventEncoding.BINARY));
+
+    @Test
+    void writesOneMessagePerAcceptingSinkFromASingleSnapshot() {
+        OrderOutbox outbox = outbox(true);
+        OrderEntity order = order();
+
+        outbox.orderCreated(order);
+
+        List<OrderOutboxEntity> messages = saved();
+        assertThat(messages).extracting(OrderOutboxEntity::getDestination)
+            .containsExactly(OutboxDestination.KAFKA, OutboxDestination.RABBITMQ);
+        assertThat(messages).allSatisfy(message -> {
+            assertThat(message.getAggregateId()).isEqualTo(order.getId());
+            assertThat(message.getContentType()).isEqualTo(OrderEventEncoding.BINARY.contentType());
+        });
+        assertThat(messages.get(0).getMessageKey()).isEqualTo(order.getId().toString());
+        assertThat(OrderEventBinaryCodec.decodeCheckout(messages.get(0).getPayload()).items()).hasSize(1);
+        assertThat(messages.get(1).getMessageKey()).isEqualTo("orders.notification.pending");
+        assertThat(OrderEventBinaryCodec.decodeNotification(messages.get(1).getPayload()).status()).isEqualTo("PENDING");
+    }
+
+    @Test
+    void statusChangesOnlyGoToNotifications() {
+        UUID orderId = UUID.randomUUID();
+
+        outbox(true).statusChanged(new OrderStatusView(orderId, OrderStatus.CONFIRMED, OrderStatus.PENDING, BigDecimal.TEN));
+
+        assertThat(saved()).singleElement().satisfies(message -> {
+            assertThat(message.getDestination()).isEqualTo(OutboxDestination.RABBITMQ);
+            assertThat(message.getMessageKey()).isEqualTo("orders.notification.confirmed");
+        });
+    }
+
+    @Test
+    void encodesEachViewOnceAndSharesTheBytes() {
+        OrderEvent event = OrderEvent.created(order());
+
+        byte[] first = encoder.encode(event, OrderEvent.View.CHECKOUT);
+
+        assertThat(encoder.encode(event, OrderEvent.View.CHECKOUT)).isSameAs(first);
+        assertThat(encoder.encode(event, OrderEvent.View.NOTIFICATION)).isNotSameAs(first);
+    }
+
+    @Test
+    void leavesNotificationsOutWhenTheyAreDisabled() {
+        outbox(false).orderCreated(order());
+
+        assertThat(saved()).extracting(OrderOutboxEntity::getDestination).containsExactly(OutboxDestination.KAFKA);
+    }
+
+    @Test
+    void holdsStatusChangesForTheCoalesceWindow() {
+        OffsetDateTime before = OffsetDateTime.now();
+
+        outbox(Duration.ofSeconds(30)).statusChanged(
+            new OrderStatusView(UUID.randomUUID(), OrderStatus.CONFIRMED, OrderStatus.PENDING, BigDecimal.TEN));
+
+        assertThat(saved()).singleElement().satisfies(message ->
+            assertThat(message.getHoldUntil()).isAfterOrEqualTo(before.plusSeconds(30)));
+        verify(repository, never()).deleteHeld(anyCollection(), any());
+    }
+
+    @Test
+    void replacesAHeldNotificationAndKeepsItsDeadline() {
+        UUID orderId = UUID.randomUUID();
+        OrderOutboxEntity held = held(orderId, OffsetDateTime.now().plusSeconds(5));
+        when(repository.findHeld(eq(OutboxDestination.RABBITMQ), eq(Set.of(orderId)),
+            any(OffsetDateTime.class))).thenReturn(List.of(held));
+        when(repository.deleteHeld(eq(List.of(held.getId())), any(OffsetDateTime.class))).thenReturn(1);
+
+        outbox(Duration.ofSeconds(30)).statusChanged(
+            new OrderStatusView(orderId, OrderStatus.SHIPPED, OrderStatus.CONFIRMED, BigDecimal.TEN));
+
+        assertThat(saved()).singleElement().satisfies(message -> {
+            assertThat(message.getMessageKey()).isEqualTo("orders.notification.shipped");
+            assertThat(message.getHoldUntil()).isEqualTo(held.getHoldUntil());
+        });
+        assertThat(registry.get("orders_outbox_coalesced").tag("destination", "rabbitmq").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void sendsFinalStatusesAtOnceInPlaceOfHeldOnes() {
+        UUID orderId = UUID.randomUUID();
+        OrderOutboxEntity held = held(orderId, OffsetDateTime.now().plusSeconds(5));
+        when(repository.findHeld(eq(OutboxDestination.RABBITMQ), eq(Set.of(orderId)),
+            any(OffsetDateTime.class))).thenReturn(List.of(held));
+
+        outbox(Duration.ofSeconds(30)).statusChanged(
+            new OrderStatusView(orderId, OrderStatus.CANCELLED, OrderStatus.CONFIRMED, BigDecimal.TEN));
+
+        assertThat(saved()).singleElement().satisfies(message ->
+            assertThat(message.getHoldUntil()).isNull());
+        verify(repository).deleteHeld(eq(List.of(held.getId())), any(OffsetDateTime.class));
+    }
+
+    @Test
+    void neverHoldsMessagesWhenNoWindowIsSet() {
+        outbox(true).statusChanged(
+            new OrderStatusView(UUID.randomUUID(), OrderStatus.CONFIRMED, OrderStatus.PENDING, BigDecimal.TEN));
+
+        assertThat(saved()).singleElement().satisfies(message -> assertThat(message.getHoldUntil()).isNull());
+        verify(repository, never()).findHeld(any(), anyCollection(), any());
+    }
+
+    private OrderOutbox outbox(boolean notificationsEnabled) {
+        return outbox(notificationsEnabled, null);
+    }
+
+    private OrderOutbox outbox(Duration coalesceWindow) {
+        return outbox(true, coalesceWindow);
+    }
+
+    @SuppressWarnings("unchecked")
+    private OrderOutbox outbox(boolean notificationsEnabled, Duration coalesceWindow) {
+        OrderKafkaEventPublisher kafka = new OrderKafkaEventPublisher(mock(KafkaTemplate.class), encoder,
+            new OrderKafkaProperties(null, 0, null), new SimpleMeterRegistry());
+        OrderNotificationPublisher rabbit = new OrderNotificationPublisher(mock(RabbitTemplate.class),
+            new OrderNotificationProperties("order.events.exchange", "orders.notification.*", notificationsEnabled, 0,
+                null, null, coalesceWindow),
+            encoder, new SimpleMeterRegistry());
+        return new OrderOutbox(repository, List.of(kafka, rabbit), new OrdersMetrics(registry));
+    }
+
+    private static OrderOutboxEntity held(UUID orderId, OffsetDateTime holdUntil) {
+        return OrderOutboxEntity.builder()
+            .id(UUID.randomUUID())
+            .aggregateId(orderId)
+            .destination(OutboxDestination.RABBITMQ)
+            .messageKey("orders.notification.confirmed")
+            .holdUntil(holdUntil)
+            .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OrderOutboxEntity> saved() {
+        ArgumentCaptor<List<OrderOutboxEntity>> messages = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(messages.capture());
+        return messages.getValue();
+    }
+
+    private static OrderEntity order() {
+        OrderEntity order = OrderEntity.builder()
+            .id(UUID.randomUUID())
+            .userId(UUID.randomUUID())
+            .status(OrderStatus.PENDING)
+            .currency("EUR")
+            .totalAmount(new BigDecimal("20.00"))
+            .createdAt(OffsetDateTime.now())
+            .build();
+        order.addItem(OrderItemEntity.builder()
+            .productId(UUID.randomUUID())
+            .title("Gateway")
+            .quantity(2)
+            .price(BigDecimal.TEN)
+            .build());
+        return order;
+    }
+}
@@ -0,0 +1,142 @@
+package com.portfolio.orders.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.orders.exception.ConflictException;
+import com.portfolio.orders.exception.ResourceNotFoundException;
+import com.portfolio.orders.metrics.OrdersMetrics;
+import com.portfolio.orders.service.OrderService;
+import com.portfolio.orders.service.PaymentBatchResult;
+import com.portfolio.orders.service.ProcessedPayments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+class PaymentResultBatchListenerTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PaymentResultForwarder forwarder = mock(PaymentResultForwarder.class);
+    private final ProcessedPayments processedPayments = mock(ProcessedPayments.class);
+    private final PaymentResultBatchListener listener = new PaymentResultBatchListener(orderService,
+        new ObjectMapper(), new OrdersMetrics(registry), forwarder, processedPayments);
+
+    @Test
+    void collapsesResultsPerOrderToTheLatestAndAppliesThemOnce() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(orderService.applyPaymentResults(anyMap(), anyMap())).thenReturn(new PaymentBatchResult(2, 0, List.of(), List.of()));
+
+        listener.handlePaymentResults(List.of(
+            record(0, event(first, "pay-1", "DECLINED")),
+            record(1, event(second, "pay-2", "AUTHORIZED")),
+            record(2, "{not json"),
+            record(3, event(first, "pay-3", "AUTHORIZED"))));
+
+        verify(orderService).applyPaymentResults(Map.of(first, true, second, true),
+            Map.of("pay-1", first, "pay-2", second, "pay-3", first));
+        assertThat(registry.get("orders_payment_results").tag("outcome", "applied").counter().count()).isEqualTo(2);
+        assertThat(registry.get("orders_payment_results").tag("outcome", "superseded").counter().count()).isEqualTo(1);
+        assertThat(registry.get("orders_payment_results").tag("outcome", "unreadable").counter().count()).isEqualTo(1);
+        assertThat(registry.get("orders_payment_batch_records").summary().totalAmount()).isEqualTo(4);
+    }
+
+    @Test
+    void parksTheLatestResultPerOrderWhenTheBatchCannotBeApplied() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        ConsumerRecord<String, String> superseded = record(0, event(first, "pay-1", "DECLINED"));
+        ConsumerRecord<String, String> secondResult = record(1, event(second, "pay-2", "AUTHORIZED"));
+        ConsumerRecord<String, String> firstResult = record(2, event(first, "pay-3", "AUTHORIZED"));
+        ConflictException failure = new ConflictException("1 of 2 orders changed status while applying payment results");
+        when(orderService.applyPaymentResults(anyMap(), anyMap())).thenThrow(failure);
+
+        listener.handlePaymentResults(List.of(superseded, secondResult, firstResult));
+
+        verify(forwarder).forward(List.of(firstResult, secondResult), failure);
+        assertThat(registry.get("orders_payment_results").tag("outcome", "forwarded").counter().count()).isEqualTo(2);
+        assertThat(registry.find("orders_payment_results").tag("outcome", "applied").counter()).isNull();
+    }
+
+    @Test
+    void parksResultsTheOrderStatusRulesOutSoTheyAreDeadLettered() {
+        UUID applied = UUID.randomUUID();
+        UUID shipped = UUID.randomUUID();
+        ConsumerRecord<String, String> conflicting = record(1, event(shipped, "pay-2", "DECLINED"));
+        when(orderService.applyPaymentResults(anyMap(), anyMap()))
+            .thenReturn(new PaymentBatchResult(1, 0, List.of(shipped), List.of()));
+
+        listener.handlePaymentResults(List.of(record(0, event(applied, "pay-1", "AUTHORIZED")), conflicting));
+
+        verify(forwarder).forward(eq(List.of(conflicting)), any(ConflictException.class));
+        assertThat(registry.get("orders_payment_results").tag("outcome", "conflict").counter().count()).isEqualTo(1);
+        assertThat(registry.get("orders_payment_results").tag("outcome", "applied").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void parksResultsForUnknownOrdersSoTheyAreDeadLettered() {
+        UUID applied = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        ConsumerRecord<String, String> orphan = record(1, event(missing, "pay-2", "AUTHORIZED"));
+        when(orderService.applyPaymentResults(anyMap(), anyMap()))
+            .thenReturn(new PaymentBatchResult(1, 0, List.of(), List.of(missing)));
+
+        listener.handlePaymentResults(List.of(record(0, event(applied, "pay-1", "AUTHORIZED")), orphan));
+
+        verify(forwarder).forward(eq(List.of(orphan)), any(ResourceNotFoundException.class));
+        assertThat(registry.get("orders_payment_results").tag("outcome", "unknown_order").counter().count())
+            .isEqualTo(1);
+        assertThat(registry.get("orders_payment_results").tag("outcome", "applied").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsAlreadyProcessedPaymentsBeforeApplying() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(processedPayments.processed(List.of("pay-1", "pay-2"))).thenReturn(Set.of("pay-1"));
+        when(orderService.applyPaymentResults(anyMap(), anyMap())).thenReturn(new PaymentBatchResult(1, 0, List.of(), List.of()));
+
+        listener.handlePaymentResults(List.of(
+            record(0, event(first, "pay-1", "AUTHORIZED")),
+            record(1, event(second, "pay-2", "DECLINED"))));
+
+        verify(orderService).applyPaymentResults(Map.of(second, false), Map.of("pay-2", second));
+        assertThat(registry.get("orders_payment_results").tag("outcome", "already_processed").counter().count())
+            .isEqualTo(1);
+        assertThat(registry.find("orders_payment_results").tag("outcome", "superseded").counter()).isNull();
+    }
+
+    @Test
+    void countsAPollOfRedeliveriesAsAlreadyProcessed() {
+        UUID orderId = UUID.randomUUID();
+        when(processedPayments.processed(List.of("pay-1"))).thenReturn(Set.of("pay-1"));
+        when(orderService.applyPaymentResults(Map.of(), Map.of())).thenReturn(new PaymentBatchResult(0, 0, List.of(), List.of()));
+
+        listener.handlePaymentResults(List.of(record(0, event(orderId, "pay-1", "AUTHORIZED"))));
+
+        verify(forwarder, never()).forward(anyList(), any());
+        assertThat(registry.get("orders_payment_results").tag("outcome", "already_processed").counter().count())
+            .isEqualTo(1);
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String value) {
+        return new ConsumerRecord<>("payment-results", 0, offset, null, value);
+    }
+
+    private static String event(UUID orderId, String paymentId, String status) {
+        return "{\"orderId\":\"%s\",\"paymentId\":\"%s\",\"status\":\"%s\"}".formatted(orderId, paymentId, status);
+    }
+}
@@ -0,0 +1,174 @@
+package com.portfolio.orders.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.orders.exception.ConflictException;
+import com.portfolio.orders.metrics.OrdersMetrics;
+import com.portfolio.orders.service.OrderService;
+import com.portfolio.orders.service.ProcessedPayments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.kafka.KafkaException;
+
+class PaymentResultParallelListenerTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("payment-results", 0);
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final PaymentResultForwarder forwarder = mock(PaymentResultForwarder.class);
+    private final ProcessedPayments processedPayments = mock(ProcessedPayments.class);
+    private final Consumer<?, ?> consumer = mock(Consumer.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PaymentResultParallelListener listener = new PaymentResultParallelListener(orderService,
+        new ObjectMapper(), new OrdersMetrics(registry), forwarder, processedPayments,
+        new PaymentResultConsumerProperties(PaymentResultConsumerProperties.Mode.PARALLEL, null, null, 0, 0, null,
+            null, 4),
+        10,
+        registry);
+
+    @BeforeEach
+    void setUp() {
+        when(consumer.assignment()).thenReturn(Set.of(PARTITION));
+        when(consumer.currentLag(PARTITION)).thenReturn(OptionalLong.of(42));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        listener.destroy();
+    }
+
+    @Test
+    void appliesEveryResultKeepingEachOrdersResultsInOffsetOrder() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        listener.handlePaymentResults(List.of(
+            record(0, event(first, "pay-1", "DECLINED")),
+            record(1, event(second, "pay-2", "AUTHORIZED")),
+            record(2, "{not json"),
+            record(3, event(first, "pay-3", "AUTHORIZED"))), consumer);
+
+        InOrder firstOrder = inOrder(orderService);
+        firstOrder.verify(orderService).handlePaymentResult(first, "pay-1", false);
+        firstOrder.verify(orderService).handlePaymentResult(first, "pay-3", true);
+        verify(orderService).handlePaymentResult(second, "pay-2", true);
+        assertThat(registry.get("orders_payment_results").tag("outcome", "applied").counter().count()).isEqualTo(3);
+        assertThat(registry.get("orders_payment_results").tag("outcome", "unreadable").counter().count()).isEqualTo(1);
+        assertThat(registry.get("orders_payment_in_flight").gauge().value()).isZero();
+        assertThat(registry.get("orders_payment_lanes_active").gauge().value()).isZero();
+        assertThat(registry.get("orders_payment_consumer_lag").gauge().value()).isEqualTo(42);
+    }
+
+    @Test
+    void parksAFailedResultTogetherWithTheResultsQueuedBehindIt() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        ConsumerRecord<String, String> failing = record(0, event(first, "pay-1", "AUTHORIZED"));
+        ConsumerRecord<String, String> other = record(1, event(second, "pay-2", "AUTHORIZED"));
+        ConsumerRecord<String, String> queued = record(2, event(first, "pay-3", "DECLINED"));
+        ConflictException failure = new ConflictException("Order changed");
+        doThrow(failure).when(orderService).handlePaymentResult(first, "pay-1", true);
+
+        listener.handlePaymentResults(List.of(failing, other, queued), consumer);
+
+        verify(forwarder).forward(List.of(failing, queued), failure);
+        verify(orderService, never()).handlePaymentResult(first, "pay-3", false);
+        verify(orderService).handlePaymentResult(second, "pay-2", true);
+        assertThat(registry.get("orders_payment_results").tag("outcome", "forwarded").counter().count()).isEqualTo(2);
+        assertThat(registry.get("orders_payment_results").tag("outcome", "applied").counter().count()).isEqualTo(1);
+        assertThat(registry.get("orders_payment_in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void dropsProcessedPaymentsAndRepeatsWithinThePoll() {
+        UUID orderId = UUID.randomUUID();
+        when(processedPayments.processed(List.of("pay-1", "pay-2", "pay-2"))).thenReturn(Set.of("pay-1"));
+
+        listener.handlePaymentResults(List.of(
+            record(0, event(orderId, "pay-1", "AUTHORIZED")),
+            record(1, event(orderId, "pay-2", "AUTHORIZED")),
+            record(2, event(orderId, "pay-2", "AUTHORIZED"))), consumer);
+
+        verify(orderService).handlePaymentResult(orderId, "pay-2", true);
+        verify(orderService, never()).handlePaymentResult(orderId, "pay-1", true);
+        assertThat(registry.get("orders_payment_results").tag("outcome", "already_processed").counter().count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void failsThePollWhenAResultCannotBeParked() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        doThrow(new ConflictException("Order changed")).when(orderService).handlePaymentResult(first, "pay-1", true);
+        doThrow(new KafkaException("broker down")).when(forwarder).forward(anyList(), any());
+
+        assertThatThrownBy(() -> listener.handlePaymentResults(List.of(
+            record(0, event(first, "pay-1", "AUTHORIZED")),
+            record(1, event(second, "pay-2", "AUTHORIZED"))), consumer))
+            .isInstanceOf(KafkaException.class);
+
+        verify(orderService).handlePaymentResult(second, "pay-2", true);
+        assertThat(registry.get("orders_payment_in_flight").gauge().value()).isZero();
+        assertThat(registry.find("orders_payment_results").tag("outcome", "applied").counter()).isNull();
+    }
+
+    @Test
+    void skipsWhatAFailedPollAlreadySettledWhenItIsRedelivered() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        List<ConsumerRecord<String, String>> poll = List.of(
+            record(0, event(first, "pay-1", "AUTHORIZED")),
+            record(1, "{\"orderId\":\"%s\",\"status\":\"AUTHORIZED\"}".formatted(second)));
+        doThrow(new ConflictException("Order changed")).when(orderService).handlePaymentResult(first, "pay-1", true);
+        doThrow(new KafkaException("broker down")).doNothing().when(forwarder).forward(anyList(), any());
+        assertThatThrownBy(() -> listener.handlePaymentResults(poll, consumer)).isInstanceOf(KafkaException.class);
+
+        listener.handlePaymentResults(poll, consumer);
+
+        verify(orderService).handlePaymentResult(second, null, true);
+        verify(forwarder, times(2)).forward(eq(List.of(poll.get(0))), any());
+        assertThat(registry.get("orders_payment_results").tag("outcome", "already_processed").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void refusesMoreLanesThanThePrimaryPoolCanServe() {
+        PaymentResultConsumerProperties properties = new PaymentResultConsumerProperties(
+            PaymentResultConsumerProperties.Mode.PARALLEL, null, null, 0, 3, null, null, 4);
+
+        assertThatThrownBy(() -> new PaymentResultParallelListener(orderService, new ObjectMapper(),
+            new OrdersMetrics(registry), forwarder, processedPayments, properties, 10, registry))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("needs 12 connections");
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String value) {
+        return new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), offset, null, value);
+    }
+
+    private static String event(UUID orderId, String paymentId, String status) {
+        return "{\"orderId\":\"%s\",\"paymentId\":\"%s\",\"status\":\"%s\"}".formatted(orderId, paymentId, status);
+    }
+}
@@ -0,0 +1,130 @@
+package com.portfolio.orders.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.orders.entity.PaymentDeadLetterEntity;
+import com.portfolio.orders.exception.ConflictException;
+import com.portfolio.orders.metrics.OrdersMetrics;
+import com.portfolio.orders.repository.PaymentDeadLetterRepository;
+import com.portfolio.orders.service.OrderService;
+import com.portfolio.orders.service.ProcessedPayments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+
+class PaymentResultRecoveryListenerTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final PaymentDeadLetterRepository deadLetterRepository = mock(PaymentDeadLetterRepository.class);
+    private final ProcessedPayments processedPayments = mock(ProcessedPayments.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PaymentResultConsumerProperties properties =
+        new PaymentResultConsumerProperties(null, null, null, 0, 0, null, null, 0);
+    private final PaymentResultRecoveryListener listener = new PaymentResultRecoveryListener(orderService,
+        new ObjectMapper(), deadLetterRepository, properties, new OrdersMetrics(registry), processedPayments);
+
+    @Test
+    void appliesParkedResultsAndCountsThemByStage() {
+        UUID orderId = UUID.randomUUID();
+
+        listener.handlePaymentResult(record("payment-results-recovery", orderId, event(orderId, "AUTHORIZED")));
+        listener.handlePaymentResult(record("payment-results-recovery-retry-1", orderId, event(orderId, "DECLINED")));
+
+        verify(orderService).handlePaymentResult(orderId, "pay-" + orderId, true);
+        verify(orderService).handlePaymentResult(orderId, "pay-" + orderId, false);
+        assertThat(registry.get("orders_payment_stage").tags("stage", "recovery", "outcome", "applied").counter().count())
+            .isEqualTo(1);
+        assertThat(registry.get("orders_payment_stage").tags("stage", "retry-1", "outcome", "applied").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void rethrowsFailuresSoTheRetryTopicsRedeliver() {
+        UUID orderId = UUID.randomUUID();
+        doThrow(new ConflictException("Order changed")).when(orderService)
+            .handlePaymentResult(orderId, "pay-" + orderId, true);
+
+        assertThatThrownBy(() -> listener.handlePaymentResult(
+            record("payment-results-recovery-retry-2", orderId, event(orderId, "AUTHORIZED"))))
+            .isInstanceOf(ConflictException.class);
+
+        assertThat(registry.get("orders_payment_stage").tags("stage", "retry-2", "outcome", "failed").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void skipsResultsWhosePaymentWasAppliedMeanwhile() {
+        UUID orderId = UUID.randomUUID();
+        when(processedPayments.isProcessed("pay-" + orderId)).thenReturn(true);
+
+        listener.handlePaymentResult(record("payment-results-recovery-retry-1", orderId, event(orderId, "AUTHORIZED")));
+
+        verifyNoInteractions(orderService);
+        assertThat(registry.get("orders_payment_stage").tags("stage", "retry-1", "outcome", "already_processed")
+            .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsUnreadablePayloadsWithoutTouchingOrders() {
+        assertThatThrownBy(() -> listener.handlePaymentResult(record("payment-results-recovery", null, "{not json")))
+            .isInstanceOf(MessageConversionException.class);
+
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void storesDeadLettersWithTheOriginalTopicAndError() {
+        UUID orderId = UUID.randomUUID();
+        ConsumerRecord<String, byte[]> record =
+            record("payment-results-recovery-dlt", orderId, event(orderId, "AUTHORIZED"));
+        record.headers().add(KafkaHeaders.DLT_ORIGINAL_TOPIC, bytes("payment-results-recovery-retry-3"));
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, bytes("x".repeat(1500)));
+
+        listener.handleDeadLetter(record);
+
+        ArgumentCaptor<PaymentDeadLetterEntity> saved = ArgumentCaptor.forClass(PaymentDeadLetterEntity.class);
+        verify(deadLetterRepository).save(saved.capture());
+        assertThat(saved.getValue().getOrderId()).isEqualTo(orderId);
+        assertThat(saved.getValue().getMessageKey()).isEqualTo(orderId.toString());
+        assertThat(saved.getValue().getSourceTopic()).isEqualTo("payment-results-recovery-retry-3");
+        assertThat(saved.getValue().getError()).hasSize(1000);
+        assertThat(saved.getValue().getReplayedAt()).isNull();
+        assertThat(registry.get("orders_payment_stage").tags("stage", "dlt", "outcome", "stored").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void keepsUnreadableDeadLettersWithoutAnOrderId() {
+        listener.handleDeadLetter(record("payment-results-recovery-dlt", null, "{not json"));
+
+        ArgumentCaptor<PaymentDeadLetterEntity> saved = ArgumentCaptor.forClass(PaymentDeadLetterEntity.class);
+        verify(deadLetterRepository).save(saved.capture());
+        assertThat(saved.getValue().getOrderId()).isNull();
+        assertThat(saved.getValue().getPayload()).isEqualTo("{not json");
+        assertThat(saved.getValue().getSourceTopic()).isEqualTo("payment-results-recovery-dlt");
+    }
+
+    private static ConsumerRecord<String, byte[]> record(String topic, UUID orderId, String payload) {
+        return new ConsumerRecord<>(topic, 0, 0, orderId != null ? orderId.toString() : null, bytes(payload));
+    }
+
+    private static String event(UUID orderId, String status) {
+        return "{\"orderId\":\"%s\",\"paymentId\":\"pay-%s\",\"status\":\"%s\"}".formatted(orderId, orderId, status);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,146 @@
+package com.portfolio.orders.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.orders.entity.OrderEntity;
+import com.portfolio.orders.entity.OrderItemEntity;
+import com.portfolio.orders.entity.OrderStatus;
+import com.portfolio.orders.metrics.OrdersMetrics;
+import com.portfolio.orders.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:orders-test;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create"
+})
+class OrderExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OrderExportService exportService;
+    private OffsetDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new OrderExportService(jdbcTemplate, transactionManager, objectMapper,
+            new OrderExportProperties(2, 1, 0), new OrdersMetrics(registry));
+        base = OffsetDateTime.parse("2024-03-01T10:00:00Z");
+        orderRepository.saveAndFlush(order(base, OrderStatus.PENDING, "Plain", 2));
+        orderRepository.saveAndFlush(order(base.plusHours(1), OrderStatus.SHIPPED, "Needs, \"quotes\"", 0));
+        orderRepository.saveAndFlush(order(base.plusHours(2), OrderStatus.PENDING, "Third", 1));
+        orderRepository.saveAndFlush(order(base.plusDays(10), OrderStatus.PENDING, "Outside range", 1));
+    }
+
+    @Test
+    @DisplayName("NDJSON export nests items and keeps cursor order within the date range")
+    void exportsNdjsonWithItems() throws Exception {
+        String body = export(new OrderExportQuery(base.toInstant(), base.plusDays(1).toInstant(), null, true),
+            OrderExportFormat.NDJSON);
+
+        List<JsonNode> lines = body.lines().map(this::readTree).toList();
+        assertThat(lines).extracting(line -> line.get("notes").asText())
+            .containsExactly("Plain", "Needs, \"quotes\"", "Third");
+        assertThat(lines.get(0).get("items")).hasSize(2);
+        assertThat(lines.get(1).get("items")).isEmpty();
+        assertThat(lines.get(2).get("items").get(0).get("title").asText()).isEqualTo("SKU-0");
+        assertThat(registry.get("orders_export_orders").tag("format", "ndjson").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("CSV export filters by status and writes one row per order without items")
+    void exportsCsvFilteredByStatus() throws Exception {
+        String body = export(new OrderExportQuery(base.toInstant(), base.plusDays(1).toInstant(),
+            OrderStatus.SHIPPED, false), OrderExportFormat.CSV);
+
+        List<String> rows = body.lines().toList();
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).startsWith("id,user_id,");
+        assertThat(rows.get(1)).contains(",SHIPPED,EUR,30.00,\"Needs, \"\"quotes\"\"\",");
+    }
+
+    @Test
+    @DisplayName("CSV export with items repeats order columns per item")
+    void exportsCsvRowPerItem() throws Exception {
+        String body = export(new OrderExportQuery(base.toInstant(), base.plusDays(1).toInstant(), null, true),
+            OrderExportFormat.CSV);
+
+        List<String> rows = body.lines().toList();
+        assertThat(rows.get(0)).endsWith(",item_id,product_id,quantity,price,title");
+        assertThat(rows).hasSize(1 + 2 + 1 + 1);
+        assertThat(rows.get(3)).endsWith(",,,,,");
+    }
+
+    @Test
+    @DisplayName("Export range must be ordered")
+    void rejectsInvertedRange() {
+        assertThatThrownBy(() -> new OrderExportQuery(base.toInstant(), base.minusDays(1).toInstant(), null, false))
+            .hasMessageContaining("before its end");
+    }
+
+    private String export(OrderExportQuery query, OrderExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(query, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private OrderEntity order(OffsetDateTime createdAt, OrderStatus status, String notes, int items) {
+        OrderEntity order = OrderEntity.builder()
+            .userId(UUID.randomUUID())
+            .status(status)
+            .currency("EUR")
+            .totalAmount(new BigDecimal("30.00"))
+            .notes(notes)
+            .createdAt(createdAt.truncatedTo(ChronoUnit.MICROS))
+            .build();
+        for (int i = 0; i < items; i++) {
+            order.addItem(OrderItemEntity.builder()
+                .productId(UUID.randomUUID())
+                .quantity(i + 1)
+                .price(BigDecimal.TEN)
+                .title("SKU-" + i)
+                .build());
+        }
+        return order;
+    }
+}
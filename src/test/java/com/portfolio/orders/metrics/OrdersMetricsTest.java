@@ -10,6 +10,7 @@ import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -72,4 +73,27 @@ class OrdersMetricsTest {
         assertThat(registry.get("orders_status").tag("status", "SHIPPED").counter().count()).isEqualTo(2);
         assertThat(registry.get("orders_customers").tag("segment", "returning").counter().count()).isEqualTo(1);
     }
+
+    @Test
+    void recordCreateStageTimesEachStageSeparately() {
+        metrics.recordCreateStage("user", TimeUnit.MILLISECONDS.toNanos(40));
+        metrics.recordCreateStage("catalog", TimeUnit.MILLISECONDS.toNanos(120));
+        metrics.recordCreateStage("catalog", TimeUnit.MILLISECONDS.toNanos(80));
+
+        assertThat(registry.get("orders_create_stage").tag("stage", "user").timer().count()).isEqualTo(1);
+        assertThat(registry.get("orders_create_stage").tag("stage", "catalog").timer().count()).isEqualTo(2);
+        assertThat(registry.get("orders_create_stage").tag("stage", "catalog").timer().max(TimeUnit.MILLISECONDS))
+            .isEqualTo(120);
+    }
+
+    @Test
+    void recordConnectionHoldTagsEachOperation() {
+        metrics.recordConnectionHold("create_order", TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.recordConnectionHold("update_order", TimeUnit.MILLISECONDS.toNanos(7));
+
+        assertThat(registry.get("orders_db_connection_hold").tag("operation", "create_order").timer().count())
+            .isEqualTo(1);
+        assertThat(registry.get("orders_db_connection_hold").tag("operation", "update_order").timer()
+            .max(TimeUnit.MILLISECONDS)).isEqualTo(7);
+    }
 }
@@ -5,13 +5,23 @@ import com.portfolio.orders.entity.OrderItemEntity;
 import com.portfolio.orders.entity.OrderStatus;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.TestPropertySource;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,6 +53,38 @@ class OrderRepositoryTest {
         assertThat(result.get(0).getUserId()).isEqualTo(userId);
     }
 
+    @Test
+    @DisplayName("findByUserIdAndStatus should page one customer's orders by status")
+    void findByUserIdAndStatusPagesInDatabase() {
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            orderRepository.save(baseOrder(userId));
+        }
+        OrderEntity shipped = baseOrder(userId);
+        shipped.setStatus(OrderStatus.SHIPPED);
+        orderRepository.save(shipped);
+        orderRepository.save(baseOrder(UUID.randomUUID()));
+
+        Page<OrderEntity> page = orderRepository.findByUserIdAndStatus(userId, OrderStatus.PENDING,
+            PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        assertThat(page.getContent()).hasSize(2)
+            .allMatch(order -> order.getUserId().equals(userId) && order.getStatus() == OrderStatus.PENDING);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("findUserIdsWithOrders should return each requested customer that ordered once")
+    void findUserIdsWithOrdersReturnsReturningCustomers() {
+        UUID returning = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        orderRepository.saveAll(List.of(baseOrder(returning), baseOrder(returning), baseOrder(other)));
+
+        List<UUID> result = orderRepository.findUserIdsWithOrders(List.of(returning, UUID.randomUUID()));
+
+        assertThat(result).containsExactly(returning);
+    }
+
     @Test
     @DisplayName("countByStatus should return number of orders matching status")
     void countByStatusReturnsAmount() {
@@ -60,6 +102,46 @@ class OrderRepositoryTest {
         assertThat(shippedCount).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("streamDistinctUserIds should return every customer once")
+    void streamDistinctUserIdsReturnsEachCustomerOnce() {
+        UUID returning = UUID.randomUUID();
+        UUID oneOff = UUID.randomUUID();
+        orderRepository.save(baseOrder(returning));
+        orderRepository.save(baseOrder(returning));
+        orderRepository.save(baseOrder(oneOff));
+
+        try (Stream<UUID> userIds = orderRepository.streamDistinctUserIds()) {
+            assertThat(userIds.toList()).containsExactlyInAnyOrder(returning, oneOff);
+        }
+    }
+
+    @Test
+    @DisplayName("scrollNewestFirst should walk every order exactly once, newest first")
+    void scrollNewestFirstWalksAllOrders() {
+        OffsetDateTime now = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < 5; i++) {
+            OrderEntity order = baseOrder(UUID.randomUUID());
+            // two orders share a timestamp so the id has to break the tie
+            order.setCreatedAt(now.minusMinutes(i == 4 ? 3 : i));
+            orderRepository.save(order);
+        }
+
+        List<OrderEntity> seen = new ArrayList<>();
+        Window<OrderEntity> window = orderRepository.scrollNewestFirst(Specification.where(null), 2, ScrollPosition.keyset());
+        seen.addAll(window.getContent());
+        while (window.hasNext()) {
+            OrderEntity last = window.getContent().get(window.size() - 1);
+            window = orderRepository.scrollNewestFirst(Specification.where(null), 2,
+                ScrollPosition.forward(Map.of("createdAt", last.getCreatedAt(), "id", last.getId())));
+            seen.addAll(window.getContent());
+        }
+
+        assertThat(seen).extracting(OrderEntity::getId).doesNotHaveDuplicates().hasSize(5);
+        assertThat(seen).extracting(OrderEntity::getCreatedAt)
+            .isSortedAccordingTo(java.util.Comparator.reverseOrder());
+    }
+
     private OrderEntity baseOrder(UUID userId) {
         return OrderEntity.builder()
             .userId(userId)
@@ -0,0 +1,50 @@
+package com.portfolio.orders.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class CustomerBloomFilterTest {
+
+    @Test
+    void neverReportsAnInsertedUserAsUnknown() {
+        CustomerBloomFilter filter = new CustomerBloomFilter(10_000, 0.01);
+        List<UUID> customers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID userId = UUID.randomUUID();
+            customers.add(userId);
+            filter.put(userId);
+        }
+
+        assertThat(customers).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void keepsFalsePositivesNearConfiguredRate() {
+        CustomerBloomFilter filter = new CustomerBloomFilter(50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.put(UUID.randomUUID());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void sizesBitsAndHashesFromExpectedInsertions() {
+        CustomerBloomFilter filter = new CustomerBloomFilter(1_000_000, 0.01);
+
+        assertThat(filter.bitSize()).isBetween(9_500_000L, 9_700_000L);
+        assertThat(filter.hashFunctions()).isEqualTo(7);
+    }
+}
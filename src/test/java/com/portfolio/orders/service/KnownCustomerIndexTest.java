@@ -0,0 +1,58 @@
+package com.portfolio.orders.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.portfolio.orders.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class KnownCustomerIndexTest {
+
+    private final OrderRepository repository = mock(OrderRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UUID loadedCustomer = UUID.randomUUID();
+
+    @Test
+    void trustsMissesOnlyWhenRunningStandalone() {
+        KnownCustomerIndex index = loadedIndex(true);
+
+        assertThat(index.mightBeKnown(loadedCustomer)).isTrue();
+        assertThat(index.mightBeKnown(UUID.randomUUID())).isFalse();
+        assertThat(lookups("definitely_new")).isEqualTo(1);
+    }
+
+    @Test
+    void staysOffAndLeavesEveryLookupToTheDatabaseWhenOtherInstancesTakeOrders() {
+        KnownCustomerIndex index = index(false);
+
+        index.warmUp();
+
+        assertThat(index.mightBeKnown(UUID.randomUUID())).isTrue();
+        verify(repository, never()).streamDistinctUserIds();
+        assertThat(lookups("definitely_new")).isZero();
+        assertThat(lookups("not_ready")).isZero();
+    }
+
+    private KnownCustomerIndex loadedIndex(boolean standalone) {
+        when(repository.streamDistinctUserIds()).thenReturn(Stream.of(loadedCustomer));
+        KnownCustomerIndex index = index(standalone);
+        index.load();
+        return index;
+    }
+
+    private KnownCustomerIndex index(boolean standalone) {
+        return new KnownCustomerIndex(repository, mock(PlatformTransactionManager.class),
+            new KnownCustomerIndexProperties(true, standalone, 1_000, 0.01), registry);
+    }
+
+    private double lookups(String result) {
+        return registry.get("orders_customer_index_lookups").tag("result", result).counter().count();
+    }
+}
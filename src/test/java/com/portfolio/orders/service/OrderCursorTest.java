@@ -0,0 +1,32 @@
+package com.portfolio.orders.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.portfolio.orders.exception.InvalidCursorException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class OrderCursorTest {
+
+    @Test
+    void encodedCursorRoundTrips() {
+        OrderCursor cursor = new OrderCursor(OffsetDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000, ZoneOffset.UTC),
+            UUID.randomUUID());
+
+        OrderCursor decoded = OrderCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(cursor.encode()).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        assertThatThrownBy(() -> OrderCursor.decode("not-a-cursor"))
+            .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> OrderCursor.decode("%%%"))
+            .isInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -40,6 +40,9 @@ class OrderMapperTest {
         assertThat(entity.getTotalAmount()).isEqualByComparingTo(BigDecimal.ZERO);
         assertThat(entity.getItems()).hasSize(1);
         assertThat(entity.getCreatedAt()).isNotNull();
+        // left unset so the repository persists a new row instead of merging, and Hibernate assigns the id
+        assertThat(entity.getId()).isNull();
+        assertThat(entity.getVersion()).isNull();
     }
 
     @Test
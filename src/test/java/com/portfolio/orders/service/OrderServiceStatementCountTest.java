@@ -0,0 +1,216 @@
+package com.portfolio.orders.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.portfolio.orders.client.CatalogClient;
+import com.portfolio.orders.client.UsersClient;
+import com.portfolio.orders.entity.OrderEntity;
+import com.portfolio.orders.entity.OrderItemEntity;
+import com.portfolio.orders.entity.OrderStatus;
+import com.portfolio.orders.events.OrderOutbox;
+import com.portfolio.orders.generated.model.CreateOrderItem;
+import com.portfolio.orders.generated.model.CreateOrderRequest;
+import com.portfolio.orders.generated.model.OrderStatusRequest;
+import com.portfolio.orders.generated.model.UpdateOrderRequest;
+import com.portfolio.orders.repository.OrderRepository;
+import com.portfolio.orders.security.SecurityFacade;
+import com.portfolio.orders.support.SqlStatementRecorder;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+/**
+ * Guards the fetch plan of every {@link OrderService} operation by counting the statements Hibernate prepares.
+ * A failing assertion here usually means an association started loading eagerly or per row again.
+ */
+@SpringBootTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.portfolio.orders.support.SqlStatementRecorder")
+class OrderServiceStatementCountTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockBean
+    private UsersClient usersClient;
+
+    @MockBean
+    private CatalogClient catalogClient;
+
+    @MockBean
+    private OrderOutbox outbox;
+
+    @MockBean
+    private SecurityFacade securityFacade;
+
+    @MockBean
+    private KnownCustomerIndex knownCustomerIndex;
+
+    // Counter upserts are covered by OrderStatusCounterTest; here only the orders fetch plan is measured.
+    @MockBean
+    private OrderStatusCounter statusCounter;
+
+    private UUID userId;
+    private UUID productId;
+    private List<OrderEntity> orders;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        userId = UUID.randomUUID();
+        productId = UUID.randomUUID();
+        orders = orderRepository.saveAll(List.of(order(2), order(3), order(1)));
+        when(securityFacade.hasAnyAuthority(any(String[].class))).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementRecorder.stop();
+    }
+
+    @Test
+    @DisplayName("getOrder loads the order and its items in one select")
+    void getOrderUsesSingleJoinedSelect() {
+        List<String> statements = record(() -> orderService.getOrder(orders.get(0).getId()));
+
+        assertThat(statements).hasSize(1);
+        assertThat(SqlStatementRecorder.count(statements, "select", "order_items")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("listOrders loads the items of a whole page in one batched select")
+    void listOrdersBatchesItemLoading() {
+        List<String> statements = record(() -> orderService.listOrders(0, 2, null));
+
+        // page + count + one IN-select for the items of both orders
+        assertThat(statements).hasSize(3);
+        assertThat(SqlStatementRecorder.count(statements, "select", "order_items")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("listOrdersByUser loads the items of a whole page in one batched select")
+    void listOrdersByUserBatchesItemLoading() {
+        List<String> statements = record(() -> orderService.listOrdersByUser(userId, 0, 2, null));
+
+        assertThat(statements).hasSize(3);
+        assertThat(SqlStatementRecorder.count(statements, "select", "order_items")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("scrollOrders loads the items of a whole page in one batched select")
+    void scrollOrdersBatchesItemLoading() {
+        List<String> statements = record(() -> orderService.scrollOrders(2, null, null));
+
+        assertThat(statements).hasSize(2);
+        assertThat(SqlStatementRecorder.count(statements, "select", "order_items")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("cancelOrder updates in place and never touches order_items")
+    void cancelOrderSkipsItems() {
+        List<String> statements = record(() -> orderService.cancelOrder(orders.get(0).getId()));
+
+        // conditional update first, then the projection for the notification
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(0)).startsWithIgnoringCase("update");
+        assertThat(statements).noneMatch(sql -> sql.contains("order_items"));
+    }
+
+    @Test
+    @DisplayName("handlePaymentResult never touches order_items")
+    void handlePaymentResultSkipsItems() {
+        List<String> statements = record(() -> orderService.handlePaymentResult(orders.get(0).getId(), "pay-1", true));
+
+        // conditional update, the projection for the notification and the processed payment marker
+        assertThat(statements).hasSize(3);
+        assertThat(SqlStatementRecorder.count(statements, "insert", "processed_payments")).isEqualTo(1);
+        assertThat(statements).noneMatch(sql -> sql.contains("order_items"));
+    }
+
+    @Test
+    @DisplayName("updateStatus issues one conditional update and reads the order with its items once")
+    void updateStatusUsesSingleRead() {
+        OrderStatusRequest request = new OrderStatusRequest()
+            .status(com.portfolio.orders.generated.model.OrderStatus.CONFIRMED);
+
+        List<String> statements = record(() -> orderService.updateStatus(orders.get(0).getId(), request));
+
+        assertThat(statements).hasSize(2);
+        assertThat(SqlStatementRecorder.count(statements, "update", "orders")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("updateOrder reads the order twice at most and never per item")
+    void updateOrderReadsOrderTwice() {
+        when(catalogClient.fetchProducts(List.of(productId))).thenReturn(Map.of(productId,
+            new CatalogClient.CatalogProduct(productId, "Portfolio Review", "PORT-01", BigDecimal.TEN, "EUR")));
+        UpdateOrderRequest request = new UpdateOrderRequest()
+            .notes("Rebuilt basket")
+            .items(List.of(new CreateOrderItem().productId(productId).quantity(1)));
+
+        List<String> statements = record(() -> orderService.updateOrder(orders.get(1).getId(), request));
+
+        // a plain read before pricing and a joined read inside the write transaction
+        assertThat(SqlStatementRecorder.count(statements, "select", "orders")).isEqualTo(2);
+        assertThat(SqlStatementRecorder.count(statements, "select", "order_items")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("createOrder inserts the order and its items without reading first")
+    void createOrderInsertsOnce() {
+        when(knownCustomerIndex.mightBeKnown(userId)).thenReturn(false);
+        when(usersClient.fetchUserAsync(userId)).thenReturn(CompletableFuture.completedFuture(
+            new UsersClient.UserResponse(userId, "Roberto Portfolio", "roberto@example.com")));
+        when(catalogClient.fetchProductsAsync(List.of(productId))).thenReturn(CompletableFuture.completedFuture(Map.of(
+            productId, new CatalogClient.CatalogProduct(productId, "Portfolio Review", "PORT-01", BigDecimal.TEN, "EUR"))));
+        CreateOrderRequest request = new CreateOrderRequest()
+            .userId(userId)
+            .currency("EUR")
+            .items(List.of(new CreateOrderItem().productId(productId).quantity(2)));
+
+        List<String> statements = record(() -> orderService.createOrder(request));
+
+        assertThat(statements).hasSize(2);
+        assertThat(SqlStatementRecorder.count(statements, "insert", "orders")).isEqualTo(1);
+        assertThat(SqlStatementRecorder.count(statements, "insert", "order_items")).isEqualTo(1);
+    }
+
+    private List<String> record(Runnable action) {
+        SqlStatementRecorder.start();
+        action.run();
+        return SqlStatementRecorder.stop();
+    }
+
+    private OrderEntity order(int items) {
+        OrderEntity order = OrderEntity.builder()
+            .userId(userId)
+            .status(OrderStatus.PENDING)
+            .currency("EUR")
+            .totalAmount(BigDecimal.TEN)
+            .createdAt(OffsetDateTime.now())
+            .build();
+        for (int i = 0; i < items; i++) {
+            order.addItem(OrderItemEntity.builder()
+                .productId(productId)
+                .quantity(1)
+                .price(BigDecimal.TEN)
+                .title("Portfolio SKU")
+                .build());
+        }
+        return order;
+    }
+}
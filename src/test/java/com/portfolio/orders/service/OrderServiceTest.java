@@ -5,43 +5,66 @@ import com.portfolio.orders.client.UsersClient;
 import com.portfolio.orders.entity.OrderEntity;
 import com.portfolio.orders.entity.OrderItemEntity;
 import com.portfolio.orders.entity.OrderStatus;
-import com.portfolio.orders.events.OrderKafkaEventPublisher;
-import com.portfolio.orders.events.OrderNotificationPublisher;
+import com.portfolio.orders.events.OrderOutbox;
 import com.portfolio.orders.exception.ConflictException;
 import com.portfolio.orders.exception.RemoteResourceNotFoundException;
 import com.portfolio.orders.exception.ResourceNotFoundException;
 import com.portfolio.orders.generated.model.CreateOrderItem;
 import com.portfolio.orders.generated.model.CreateOrderRequest;
 import com.portfolio.orders.generated.model.Order;
+import com.portfolio.orders.generated.model.OrderBatchItemResult;
+import com.portfolio.orders.generated.model.OrderBatchResult;
 import com.portfolio.orders.generated.model.OrderPage;
 import com.portfolio.orders.generated.model.OrderStatusRequest;
+import com.portfolio.orders.generated.model.OrderStatusSummary;
 import com.portfolio.orders.generated.model.UpdateOrderRequest;
 import com.portfolio.orders.metrics.OrdersMetrics;
 import com.portfolio.orders.repository.OrderRepository;
+import com.portfolio.orders.repository.OrderStatusView;
 import com.portfolio.orders.security.SecurityFacade;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -63,10 +86,7 @@ class OrderServiceTest {
     private CatalogClient catalogClient;
 
     @Mock
-    private OrderNotificationPublisher notificationPublisher;
-
-    @Mock
-    private OrderKafkaEventPublisher kafkaEventPublisher;
+    private OrderOutbox outbox;
 
     @Mock
     private SecurityFacade securityFacade;
@@ -74,6 +94,18 @@ class OrderServiceTest {
     @Mock
     private OrdersMetrics ordersMetrics;
 
+    @Mock
+    private KnownCustomerIndex knownCustomerIndex;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OrderStatusCounter statusCounter;
+
+    @Mock
+    private ProcessedPayments processedPayments;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -104,13 +136,16 @@ class OrderServiceTest {
             .thenReturn(true);
         lenient().when(securityFacade.getCurrentUserId()).thenReturn(userId);
         lenient().when(orderRepository.existsByUserId(any(UUID.class))).thenReturn(false);
+        lenient().when(knownCustomerIndex.mightBeKnown(any(UUID.class))).thenReturn(true);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
     @DisplayName("createOrder should validate dependencies and persist order")
     void createOrderPersistsOrder() {
         UsersClient.UserResponse userResponse = new UsersClient.UserResponse(userId, "Roberto Portfolio", "roberto@example.com");
-        when(usersClient.fetchUser(userId)).thenReturn(userResponse);
+        when(usersClient.fetchUserAsync(userId)).thenReturn(CompletableFuture.completedFuture(userResponse));
         when(orderMapper.toEntity(createOrderRequest)).thenReturn(baseEntity);
         when(orderMapper.toItemEntity(any(CreateOrderItem.class))).thenAnswer(invocation -> {
             CreateOrderItem item = invocation.getArgument(0);
@@ -122,7 +157,8 @@ class OrderServiceTest {
                 .build();
         });
         CatalogClient.CatalogProduct catalogProduct = new CatalogClient.CatalogProduct(productId, "Portfolio Review", "PORT-CAT", BigDecimal.valueOf(25), "EUR");
-        when(catalogClient.fetchProduct(productId)).thenReturn(catalogProduct);
+        when(catalogClient.fetchProductsAsync(List.of(productId)))
+            .thenReturn(CompletableFuture.completedFuture(Map.of(productId, catalogProduct)));
         when(orderRepository.save(baseEntity)).thenAnswer(invocation -> invocation.getArgument(0));
         when(orderMapper.toOrder(baseEntity)).thenAnswer(invocation -> new Order()
             .id(baseEntity.getId())
@@ -134,39 +170,155 @@ class OrderServiceTest {
 
         assertThat(result.getTotalAmount()).isEqualTo(50.0);
         verify(orderRepository).save(baseEntity);
-        verify(notificationPublisher).publish(baseEntity);
-        verify(kafkaEventPublisher).publish(baseEntity);
+        verify(outbox).orderCreated(baseEntity);
         verify(ordersMetrics).trackNewOrder(baseEntity, true);
+        verify(ordersMetrics).recordCreateStage(eq("user"), anyLong());
+        verify(ordersMetrics).recordCreateStage(eq("customer"), anyLong());
+        verify(ordersMetrics).recordCreateStage(eq("catalog"), anyLong());
+        verify(knownCustomerIndex).recordCustomer(userId);
+        verify(ordersMetrics).recordConnectionHold(eq("create_order"), anyLong());
+        verify(statusCounter).recordCreated(List.of(baseEntity));
+    }
+
+    @Test
+    @DisplayName("createOrder should skip the customer lookup when the index rules the user out")
+    void createOrderSkipsCustomerLookupForDefinitelyNewUser() {
+        UsersClient.UserResponse userResponse = new UsersClient.UserResponse(userId, "Roberto Portfolio", "roberto@example.com");
+        when(knownCustomerIndex.mightBeKnown(userId)).thenReturn(false);
+        when(usersClient.fetchUserAsync(userId)).thenReturn(CompletableFuture.completedFuture(userResponse));
+        CatalogClient.CatalogProduct catalogProduct = new CatalogClient.CatalogProduct(productId, "Portfolio Review", "PORT-CAT", BigDecimal.TEN, "EUR");
+        when(catalogClient.fetchProductsAsync(List.of(productId)))
+            .thenReturn(CompletableFuture.completedFuture(Map.of(productId, catalogProduct)));
+        when(orderMapper.toEntity(createOrderRequest)).thenReturn(baseEntity);
+        when(orderMapper.toItemEntity(any(CreateOrderItem.class))).thenAnswer(invocation -> {
+            CreateOrderItem item = invocation.getArgument(0);
+            return OrderItemEntity.builder()
+                .productId(item.getProductId())
+                .quantity(item.getQuantity())
+                .build();
+        });
+        when(orderRepository.save(baseEntity)).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderMapper.toOrder(baseEntity)).thenReturn(new Order().id(baseEntity.getId()));
+
+        orderService.createOrder(createOrderRequest);
+
+        verify(orderRepository, never()).existsByUserId(any());
+        verify(ordersMetrics).trackNewOrder(baseEntity, true);
+    }
+
+    @Test
+    @DisplayName("createOrder should issue user and catalog lookups concurrently")
+    void createOrderResolvesDependenciesConcurrently() {
+        UsersClient.UserResponse userResponse = new UsersClient.UserResponse(userId, "Roberto Portfolio", "roberto@example.com");
+        CompletableFuture<UsersClient.UserResponse> pendingUser = new CompletableFuture<>();
+        when(usersClient.fetchUserAsync(userId)).thenReturn(pendingUser);
+        CatalogClient.CatalogProduct catalogProduct = new CatalogClient.CatalogProduct(productId, "Portfolio Review", "PORT-CAT", BigDecimal.TEN, "EUR");
+        when(catalogClient.fetchProductsAsync(List.of(productId))).thenAnswer(invocation -> {
+            // The user lookup is still in flight when the catalog lookup is issued.
+            pendingUser.complete(userResponse);
+            return CompletableFuture.completedFuture(Map.of(productId, catalogProduct));
+        });
+        when(orderMapper.toEntity(createOrderRequest)).thenReturn(baseEntity);
+        when(orderMapper.toItemEntity(any(CreateOrderItem.class))).thenAnswer(invocation -> {
+            CreateOrderItem item = invocation.getArgument(0);
+            return OrderItemEntity.builder()
+                .productId(item.getProductId())
+                .quantity(item.getQuantity())
+                .build();
+        });
+        when(orderRepository.save(baseEntity)).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderMapper.toOrder(baseEntity)).thenReturn(new Order().id(baseEntity.getId()));
+
+        Order result = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> orderService.createOrder(createOrderRequest));
+
+        assertThat(result.getId()).isEqualTo(baseEntity.getId());
+        assertThat(baseEntity.getUserFullName()).isEqualTo("Roberto Portfolio");
+        assertThat(baseEntity.getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(20));
     }
 
     @Test
     @DisplayName("createOrder should throw when user does not exist")
     void createOrderMissingUserThrows() {
-        when(usersClient.fetchUser(userId)).thenThrow(new RemoteResourceNotFoundException("User not found"));
+        when(usersClient.fetchUserAsync(userId))
+            .thenReturn(CompletableFuture.failedFuture(new RemoteResourceNotFoundException("User not found")));
+        when(catalogClient.fetchProductsAsync(List.of(productId)))
+            .thenReturn(CompletableFuture.completedFuture(Map.of()));
 
         assertThatThrownBy(() -> orderService.createOrder(createOrderRequest))
             .isInstanceOf(RemoteResourceNotFoundException.class);
 
         verify(orderRepository, never()).save(any());
-        verify(notificationPublisher, never()).publish(any());
-        verify(kafkaEventPublisher, never()).publish(any());
+        verify(outbox, never()).orderCreated(any());
         verify(ordersMetrics, never()).trackNewOrder(any(), anyBoolean());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("createOrders should persist valid orders in one batch and report the rejected ones")
+    void createOrdersReportsPartialFailures() {
+        UUID unknownProduct = UUID.randomUUID();
+        CreateOrderRequest second = new CreateOrderRequest()
+            .userId(userId)
+            .currency("EUR")
+            .items(List.of(new CreateOrderItem().productId(productId).quantity(1)));
+        CreateOrderRequest invalid = new CreateOrderRequest()
+            .userId(userId)
+            .currency("EUR")
+            .items(List.of(new CreateOrderItem().productId(unknownProduct).quantity(1)));
+        UsersClient.UserResponse userResponse = new UsersClient.UserResponse(userId, "Roberto Portfolio", "roberto@example.com");
+        when(usersClient.fetchUserAsync(userId)).thenReturn(CompletableFuture.completedFuture(userResponse));
+        CatalogClient.CatalogProduct catalogProduct = new CatalogClient.CatalogProduct(productId, "Portfolio Review", "PORT-CAT", BigDecimal.TEN, "EUR");
+        when(catalogClient.findProductsAsync(Set.of(productId, unknownProduct)))
+            .thenReturn(CompletableFuture.completedFuture(Map.of(productId, catalogProduct)));
+        when(orderMapper.toEntity(any(CreateOrderRequest.class))).thenAnswer(invocation -> OrderEntity.builder()
+            .status(OrderStatus.PENDING)
+            .createdAt(OffsetDateTime.now())
+            .build());
+        when(orderMapper.toItemEntity(any(CreateOrderItem.class))).thenAnswer(invocation -> {
+            CreateOrderItem item = invocation.getArgument(0);
+            return OrderItemEntity.builder()
+                .productId(item.getProductId())
+                .quantity(item.getQuantity())
+                .build();
+        });
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderMapper.toOrder(any(OrderEntity.class))).thenAnswer(invocation -> new Order().userId(userId));
+
+        OrderBatchResult result = orderService.createOrders(List.of(createOrderRequest, invalid, second));
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getResults()).extracting(OrderBatchItemResult::getOutcome).containsExactly(
+            OrderBatchItemResult.OutcomeEnum.CREATED,
+            OrderBatchItemResult.OutcomeEnum.FAILED,
+            OrderBatchItemResult.OutcomeEnum.CREATED);
+        assertThat(result.getResults().get(1).getError()).contains(unknownProduct.toString());
+        verify(usersClient).fetchUserAsync(userId);
+        verify(orderRepository).saveAll(argThat(orders -> ((List<?>) orders).size() == 2));
+        verify(outbox).ordersCreated(argThat(orders -> orders.size() == 2));
+        verify(ordersMetrics).trackNewOrder(any(), eq(true));
+        verify(ordersMetrics).trackNewOrder(any(), eq(false));
+        verify(ordersMetrics).recordConnectionHold(eq("create_order_batch"), anyLong());
+        verify(orderRepository).findUserIdsWithOrders(Set.of(userId));
+        verify(orderRepository, never()).existsByUserId(any());
     }
 
     @Test
-    @DisplayName("updateStatus should change order state and persist")
+    @DisplayName("updateStatus should change order state with a conditional update")
     void updateStatusChangesState() {
         UUID orderId = UUID.randomUUID();
         OrderEntity entity = OrderEntity.builder()
             .id(orderId)
             .userId(userId)
-            .status(OrderStatus.PENDING)
+            .status(OrderStatus.CONFIRMED)
+            .previousStatus(OrderStatus.PENDING)
             .currency("EUR")
             .totalAmount(BigDecimal.TEN)
             .createdAt(OffsetDateTime.now())
             .build();
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(entity));
-        when(orderRepository.save(entity)).thenReturn(entity);
+        when(orderRepository.transitionStatus(eq(orderId), eq(OrderStatus.CONFIRMED), eq(Set.of(OrderStatus.PENDING)),
+            any(OffsetDateTime.class))).thenReturn(1);
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(entity));
         when(orderMapper.toOrder(entity)).thenReturn(new Order().id(orderId).status(com.portfolio.orders.generated.model.OrderStatus.CONFIRMED));
 
         OrderStatusRequest request = new OrderStatusRequest()
@@ -174,10 +326,103 @@ class OrderServiceTest {
 
         Order result = orderService.updateStatus(orderId, request);
 
-        assertThat(entity.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
         assertThat(result.getStatus()).isEqualTo(com.portfolio.orders.generated.model.OrderStatus.CONFIRMED);
-        verify(notificationPublisher).publish(entity);
+        verify(orderRepository, never()).save(any(OrderEntity.class));
+        verify(outbox).orderChanged(entity);
         verify(ordersMetrics).incrementStatus(OrderStatus.CONFIRMED);
+        verify(statusCounter).recordTransition(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("updateStatus should reject transitions outside the transition table")
+    void updateStatusRejectsIllegalTransition() {
+        UUID orderId = UUID.randomUUID();
+        OrderEntity entity = OrderEntity.builder()
+            .id(orderId)
+            .userId(userId)
+            .status(OrderStatus.PENDING)
+            .currency("EUR")
+            .totalAmount(BigDecimal.TEN)
+            .createdAt(OffsetDateTime.now())
+            .build();
+        when(orderRepository.transitionStatus(eq(orderId), eq(OrderStatus.DELIVERED), anyCollection(),
+            any(OffsetDateTime.class))).thenReturn(0);
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(entity));
+
+        OrderStatusRequest request = new OrderStatusRequest()
+            .status(com.portfolio.orders.generated.model.OrderStatus.DELIVERED);
+
+        assertThrows(ConflictException.class, () -> orderService.updateStatus(orderId, request));
+        verify(outbox, never()).orderChanged(any());
+        verify(statusCounter, never()).recordTransition(any(), any());
+    }
+
+    @Test
+    @DisplayName("applyPaymentResults should move eligible orders with one update per target status")
+    void applyPaymentResultsUpdatesInBulk() {
+        UUID toConfirm = UUID.randomUUID();
+        UUID toCancel = UUID.randomUUID();
+        UUID alreadyConfirmed = UUID.randomUUID();
+        UUID shipped = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        Map<UUID, Boolean> results = new java.util.LinkedHashMap<>();
+        results.put(toConfirm, true);
+        results.put(toCancel, false);
+        results.put(alreadyConfirmed, true);
+        results.put(shipped, false);
+        results.put(unknown, true);
+        when(orderRepository.findStatusViewsByIdIn(results.keySet())).thenReturn(List.of(
+            new OrderStatusView(toConfirm, OrderStatus.PENDING, null, BigDecimal.TEN),
+            new OrderStatusView(toCancel, OrderStatus.PENDING, null, BigDecimal.ONE),
+            new OrderStatusView(alreadyConfirmed, OrderStatus.CONFIRMED, OrderStatus.PENDING, BigDecimal.TEN),
+            new OrderStatusView(shipped, OrderStatus.SHIPPED, OrderStatus.CONFIRMED, BigDecimal.TEN)));
+        when(orderRepository.transitionStatuses(eq(List.of(toConfirm)), eq(OrderStatus.CONFIRMED), anyCollection(),
+            any(OffsetDateTime.class))).thenReturn(1);
+        when(orderRepository.transitionStatuses(eq(List.of(toCancel)), eq(OrderStatus.CANCELLED), anyCollection(),
+            any(OffsetDateTime.class))).thenReturn(1);
+
+        Map<String, UUID> payments = Map.of("pay-1", toConfirm, "pay-2", toCancel, "pay-3", shipped, "pay-4", unknown);
+
+        PaymentBatchResult result = orderService.applyPaymentResults(results, payments);
+
+        assertThat(result).isEqualTo(new PaymentBatchResult(2, 1, List.of(shipped), List.of(unknown)));
+        verify(processedPayments).record(Map.of("pay-1", toConfirm, "pay-2", toCancel));
+        verify(statusCounter).recordTransitions(List.of(OrderStatus.PENDING), OrderStatus.CONFIRMED);
+        verify(statusCounter).recordTransitions(List.of(OrderStatus.PENDING), OrderStatus.CANCELLED);
+        verify(outbox).statusChanges(List.of(
+            new OrderStatusView(toConfirm, OrderStatus.CONFIRMED, OrderStatus.PENDING, BigDecimal.TEN),
+            new OrderStatusView(toCancel, OrderStatus.CANCELLED, OrderStatus.PENDING, BigDecimal.ONE)));
+        verify(orderRepository, never()).save(any(OrderEntity.class));
+    }
+
+    @Test
+    @DisplayName("applyPaymentResults should fail the batch when an order changed under it")
+    void applyPaymentResultsDetectsConcurrentChange() {
+        UUID orderId = UUID.randomUUID();
+        when(orderRepository.findStatusViewsByIdIn(Set.of(orderId))).thenReturn(List.of(
+            new OrderStatusView(orderId, OrderStatus.PENDING, null, BigDecimal.TEN)));
+        when(orderRepository.transitionStatuses(anyCollection(), eq(OrderStatus.CONFIRMED), anyCollection(),
+            any(OffsetDateTime.class))).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> orderService.applyPaymentResults(Map.of(orderId, true),
+            Map.of("pay-1", orderId)));
+        verify(outbox, never()).statusChanges(anyList());
+    }
+
+    @Test
+    @DisplayName("handlePaymentResult should ignore a repeated result for an order already in that status")
+    void handlePaymentResultIsIdempotent() {
+        UUID orderId = UUID.randomUUID();
+        when(orderRepository.transitionStatus(eq(orderId), eq(OrderStatus.CONFIRMED), anyCollection(),
+            any(OffsetDateTime.class))).thenReturn(0);
+        when(orderRepository.findStatusViewById(orderId)).thenReturn(Optional.of(
+            new OrderStatusView(orderId, OrderStatus.CONFIRMED, OrderStatus.PENDING, BigDecimal.TEN)));
+
+        orderService.handlePaymentResult(orderId, "pay-1", true);
+
+        verify(processedPayments).record("pay-1", orderId);
+        verify(outbox, never()).statusChanged(any());
+        verify(statusCounter, never()).recordTransition(any(), any());
     }
 
     @Test
@@ -204,7 +449,7 @@ class OrderServiceTest {
     @DisplayName("getOrder should throw when not found")
     void getOrderNotFoundThrows() {
         UUID id = UUID.randomUUID();
-        when(orderRepository.findById(id)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(id)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.getOrder(id))
             .isInstanceOf(ResourceNotFoundException.class);
@@ -224,6 +469,35 @@ class OrderServiceTest {
         verify(orderRepository).findAll(any(Pageable.class));
     }
 
+    @Test
+    @DisplayName("scrollOrders should return a cursor for the next page without counting")
+    void scrollOrdersReturnsNextCursor() {
+        when(orderRepository.scrollNewestFirst(any(), eq(1), eq(ScrollPosition.keyset())))
+            .thenReturn(Window.from(List.of(baseEntity), index -> ScrollPosition.offset(index), true));
+        when(orderMapper.toOrder(baseEntity)).thenReturn(new Order().id(baseEntity.getId()));
+
+        OrderPage result = orderService.scrollOrders(1, null, null);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getTotalElements()).isNull();
+        assertThat(OrderCursor.decode(result.getNextCursor())).isEqualTo(OrderCursor.after(baseEntity));
+        verify(orderRepository, never()).count();
+        verify(orderRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("scrollOrders should resume after the decoded cursor")
+    void scrollOrdersResumesFromCursor() {
+        OrderCursor cursor = OrderCursor.after(baseEntity);
+        when(orderRepository.scrollNewestFirst(any(), eq(20), eq(cursor.toScrollPosition())))
+            .thenReturn(Window.from(List.of(), ScrollPosition::offset, false));
+
+        OrderPage result = orderService.scrollOrders(null, "PENDING", cursor.encode());
+
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
     @Test
     @DisplayName("listOrders should filter by status when provided")
     void listOrdersFiltersByStatus() {
@@ -241,30 +515,74 @@ class OrderServiceTest {
     @Test
     @DisplayName("listOrdersByUser should return mapped orders")
     void listOrdersByUserReturnsOrders() {
-        when(orderRepository.findByUserId(userId)).thenReturn(List.of(baseEntity));
+        when(orderRepository.findByUserId(eq(userId), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(baseEntity)));
+        when(orderMapper.toOrder(baseEntity)).thenReturn(new Order().id(baseEntity.getId()));
+
+        OrderPage result = orderService.listOrdersByUser(userId, null, null, null);
+
+        assertThat(result.getContent()).hasSize(1);
+        verify(orderRepository).findByUserId(userId, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    @Test
+    @DisplayName("listOrdersByUser should page and filter in the repository")
+    void listOrdersByUserPagesByStatus() {
+        Pageable expected = PageRequest.of(2, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        when(orderRepository.findByUserIdAndStatus(userId, OrderStatus.SHIPPED, expected))
+            .thenReturn(new PageImpl<>(List.of(baseEntity), expected, 31));
         when(orderMapper.toOrder(baseEntity)).thenReturn(new Order().id(baseEntity.getId()));
 
-        List<Order> result = orderService.listOrdersByUser(userId);
+        OrderPage result = orderService.listOrdersByUser(userId, 2, 10, "SHIPPED");
 
-        assertThat(result).hasSize(1);
-        verify(orderRepository).findByUserId(userId);
+        assertThat(result.getPage()).isEqualTo(2);
+        assertThat(result.getTotalElements()).isEqualTo(31);
+        assertThat(result.getTotalPages()).isEqualTo(4);
     }
 
     @Test
     @DisplayName("cancelOrder should mark order as cancelled")
     void cancelOrderMarksStatusCancelled() {
         UUID orderId = UUID.randomUUID();
-        OrderEntity entity = baseEntity;
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(entity));
-
-        when(orderRepository.save(entity)).thenReturn(entity);
+        OrderStatusView cancelled = new OrderStatusView(orderId, OrderStatus.CANCELLED, OrderStatus.PENDING, BigDecimal.TEN);
+        when(orderRepository.transitionStatus(eq(orderId), eq(OrderStatus.CANCELLED),
+            eq(Set.of(OrderStatus.PENDING, OrderStatus.CONFIRMED)), any(OffsetDateTime.class))).thenReturn(1);
+        when(orderRepository.findStatusViewById(orderId)).thenReturn(Optional.of(cancelled));
 
         orderService.cancelOrder(orderId);
 
-        assertThat(entity.getStatus()).isEqualTo(OrderStatus.CANCELLED);
-        verify(orderRepository).save(entity);
-        verify(notificationPublisher).publish(entity);
+        verify(orderRepository, never()).findById(orderId);
+        verify(outbox).statusChanged(cancelled);
         verify(ordersMetrics).incrementStatus(OrderStatus.CANCELLED);
+        verify(statusCounter).recordTransition(OrderStatus.PENDING, OrderStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("getStatusSummary should read the status counters")
+    void getStatusSummaryReadsCounters() {
+        Map<OrderStatus, Long> counts = new java.util.EnumMap<>(OrderStatus.class);
+        counts.put(OrderStatus.PENDING, 3L);
+        counts.put(OrderStatus.CONFIRMED, 0L);
+        counts.put(OrderStatus.SHIPPED, 2L);
+        counts.put(OrderStatus.DELIVERED, 5L);
+        counts.put(OrderStatus.CANCELLED, 1L);
+        when(statusCounter.snapshot()).thenReturn(counts);
+
+        OrderStatusSummary summary = orderService.getStatusSummary();
+
+        assertThat(summary.getTotal()).isEqualTo(11L);
+        assertThat(summary.getCounts()).hasSize(5);
+        assertThat(summary.getCounts().get(0).getStatus())
+            .isEqualTo(com.portfolio.orders.generated.model.OrderStatus.PENDING);
+        assertThat(summary.getCounts().get(0).getCount()).isEqualTo(3L);
+        verify(orderRepository, never()).countByStatus(any());
+    }
+
+    @Test
+    @DisplayName("getStatusSummary is reserved to administrators")
+    void getStatusSummaryRequiresAdmin() {
+        when(securityFacade.hasAnyAuthority(org.mockito.ArgumentMatchers.any(String[].class))).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class, () -> orderService.getStatusSummary());
     }
 
     @Test
@@ -282,22 +600,18 @@ class OrderServiceTest {
     void listOrdersCustomerFiltersByStatus() {
         when(securityFacade.hasAnyAuthority(org.mockito.ArgumentMatchers.any(String[].class))).thenReturn(false);
         when(securityFacade.getCurrentUserId()).thenReturn(userId);
-        OrderEntity shipped = OrderEntity.builder()
-            .id(UUID.randomUUID())
-            .userId(userId)
-            .status(OrderStatus.SHIPPED)
-            .currency("EUR")
-            .totalAmount(BigDecimal.ONE)
-            .createdAt(OffsetDateTime.now())
-            .build();
-        when(orderRepository.findByUserId(userId)).thenReturn(List.of(baseEntity, shipped));
+        Pageable expected = PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "createdAt"));
+        when(orderRepository.findByUserIdAndStatus(userId, OrderStatus.PENDING, expected))
+            .thenReturn(new PageImpl<>(List.of(baseEntity), expected, 6));
         when(orderMapper.toOrder(baseEntity)).thenReturn(new Order().id(baseEntity.getId()));
 
-        OrderPage result = orderService.listOrders(null, null, "PENDING");
+        OrderPage result = orderService.listOrders(1, 5, "PENDING");
 
         assertThat(result.getContent()).hasSize(1);
-        verify(orderMapper).toOrder(baseEntity);
-        verify(orderMapper, never()).toOrder(shipped);
+        assertThat(result.getPage()).isEqualTo(1);
+        assertThat(result.getSize()).isEqualTo(5);
+        assertThat(result.getTotalElements()).isEqualTo(6);
+        verify(orderRepository, never()).findByUserId(any());
     }
 
     @Test
@@ -314,7 +628,7 @@ class OrderServiceTest {
         when(securityFacade.getCurrentUserId()).thenReturn(current);
         when(orderRepository.existsByUserId(current)).thenReturn(true);
         UsersClient.UserResponse response = new UsersClient.UserResponse(current, "Candidate", "candidate@test");
-        when(usersClient.fetchUser(current)).thenReturn(response);
+        when(usersClient.fetchUserAsync(current)).thenReturn(CompletableFuture.completedFuture(response));
         OrderEntity entity = OrderEntity.builder()
             .id(UUID.randomUUID())
             .userId(requested)
@@ -336,7 +650,8 @@ class OrderServiceTest {
                 .build();
         });
         CatalogClient.CatalogProduct product = new CatalogClient.CatalogProduct(productId, "Product", "SKU-1", BigDecimal.TEN, "EUR");
-        when(catalogClient.fetchProduct(productId)).thenReturn(product);
+        when(catalogClient.fetchProductsAsync(List.of(productId)))
+            .thenReturn(CompletableFuture.completedFuture(Map.of(productId, product)));
         when(orderRepository.save(entity)).thenReturn(entity);
         when(orderMapper.toOrder(entity)).thenReturn(new Order().id(entity.getId()));
 
@@ -361,7 +676,7 @@ class OrderServiceTest {
             .createdAt(OffsetDateTime.now())
             .build();
         UUID orderId = entity.getId();
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(entity));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(entity));
 
         assertThrows(AccessDeniedException.class, () -> orderService.getOrder(orderId));
     }
@@ -370,10 +685,10 @@ class OrderServiceTest {
     @DisplayName("listOrdersByUser validates identity for non privileged users")
     void listOrdersByUserValidatesIdentity() {
         when(securityFacade.hasAnyAuthority(org.mockito.ArgumentMatchers.any(String[].class))).thenReturn(false);
-        when(orderRepository.findByUserId(userId)).thenReturn(List.of(baseEntity));
+        when(orderRepository.findByUserId(eq(userId), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(baseEntity)));
         when(orderMapper.toOrder(baseEntity)).thenReturn(new Order().id(baseEntity.getId()));
 
-        orderService.listOrdersByUser(userId);
+        orderService.listOrdersByUser(userId, 0, 20, null);
 
         verify(securityFacade).assertCurrentUser(userId);
     }
@@ -383,7 +698,7 @@ class OrderServiceTest {
     void getOrderReturnsDtoForPrivilegedUser() {
         OrderEntity entity = baseEntity;
         Order dto = new Order().id(entity.getId());
-        when(orderRepository.findById(entity.getId())).thenReturn(Optional.of(entity));
+        when(orderRepository.findWithItemsById(entity.getId())).thenReturn(Optional.of(entity));
         when(orderMapper.toOrder(entity)).thenReturn(dto);
 
         Order result = orderService.getOrder(entity.getId());
@@ -398,6 +713,7 @@ class OrderServiceTest {
         UUID orderId = baseEntity.getId();
         baseEntity.setItems(new java.util.ArrayList<>());
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(baseEntity));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(baseEntity));
 
         UUID anotherProduct = UUID.randomUUID();
         UpdateOrderRequest request = new UpdateOrderRequest()
@@ -416,8 +732,8 @@ class OrderServiceTest {
         });
         CatalogClient.CatalogProduct first = new CatalogClient.CatalogProduct(productId, "Gateway", "SKU1", BigDecimal.valueOf(15), "EUR");
         CatalogClient.CatalogProduct second = new CatalogClient.CatalogProduct(anotherProduct, "Kafka", "SKU2", BigDecimal.valueOf(35), "EUR");
-        when(catalogClient.fetchProduct(productId)).thenReturn(first);
-        when(catalogClient.fetchProduct(anotherProduct)).thenReturn(second);
+        when(catalogClient.fetchProducts(List.of(productId, anotherProduct)))
+            .thenReturn(Map.of(productId, first, anotherProduct, second));
         when(orderRepository.save(baseEntity)).thenReturn(baseEntity);
         Order dto = new Order().id(orderId);
         when(orderMapper.toOrder(baseEntity)).thenReturn(dto);
@@ -427,6 +743,76 @@ class OrderServiceTest {
         assertThat(baseEntity.getItems()).hasSize(2);
         assertThat(baseEntity.getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(65));
         assertThat(result).isSameAs(dto);
-        verify(notificationPublisher).publish(baseEntity);
+        InOrder inOrder = inOrder(catalogClient, transactionTemplate, outbox);
+        inOrder.verify(catalogClient).fetchProducts(List.of(productId, anotherProduct));
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(outbox).orderChanged(baseEntity);
+        verify(ordersMetrics).recordConnectionHold(eq("update_order"), anyLong());
+    }
+
+    @Test
+    @DisplayName("updateOrder should not trip over a lagging replica")
+    void updateOrderReadsTheVersionFromThePrimary() {
+        UUID orderId = baseEntity.getId();
+        baseEntity.setVersion(2L);
+        baseEntity.setStatus(OrderStatus.CONFIRMED);
+        baseEntity.setItems(new java.util.ArrayList<>());
+        OrderEntity lagging = OrderEntity.builder()
+            .id(orderId)
+            .userId(userId)
+            .status(OrderStatus.PENDING)
+            .currency("EUR")
+            .totalAmount(BigDecimal.TEN)
+            .version(1L)
+            .build();
+        // a repository read outside a read-write transaction runs read-only, which routes it to a replica
+        when(orderRepository.findById(orderId)).thenAnswer(invocation ->
+            Optional.of(TransactionSynchronizationManager.isActualTransactionActive() ? baseEntity : lagging));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(baseEntity));
+        doAnswer(invocation -> {
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+            }
+        }).when(transactionTemplate).execute(any());
+        when(catalogClient.fetchProducts(List.of(productId))).thenReturn(Map.of(productId,
+            new CatalogClient.CatalogProduct(productId, "Gateway", "SKU1", BigDecimal.TEN, "EUR")));
+        when(orderMapper.toItemEntity(any(CreateOrderItem.class))).thenReturn(OrderItemEntity.builder()
+            .productId(productId).quantity(1).price(BigDecimal.ZERO).title("placeholder").build());
+        when(orderRepository.save(baseEntity)).thenReturn(baseEntity);
+
+        orderService.updateOrder(orderId,
+            new UpdateOrderRequest().items(List.of(new CreateOrderItem().productId(productId).quantity(1))));
+
+        verify(outbox).orderChanged(baseEntity);
+        verify(ordersMetrics).recordConnectionHold(eq("load_order"), anyLong());
+    }
+
+    @Test
+    @DisplayName("updateOrder should reject the write when the order changed while pricing")
+    void updateOrderConcurrentModificationThrowsConflict() {
+        UUID orderId = baseEntity.getId();
+        baseEntity.setVersion(1L);
+        OrderEntity changed = OrderEntity.builder()
+            .id(orderId)
+            .userId(userId)
+            .status(OrderStatus.PENDING)
+            .currency("EUR")
+            .totalAmount(BigDecimal.TEN)
+            .version(2L)
+            .build();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(baseEntity));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(changed));
+        when(catalogClient.fetchProducts(List.of(productId))).thenReturn(Map.of(productId,
+            new CatalogClient.CatalogProduct(productId, "Gateway", "SKU1", BigDecimal.ONE, "EUR")));
+
+        UpdateOrderRequest request = new UpdateOrderRequest().items(List.of(new CreateOrderItem().productId(productId).quantity(1)));
+
+        assertThatThrownBy(() -> orderService.updateOrder(orderId, request))
+            .isInstanceOf(ConflictException.class);
+        verify(orderRepository, never()).save(any());
+        verify(outbox, never()).orderChanged(any());
     }
 }
@@ -0,0 +1,122 @@
+package com.portfolio.orders.service;
+
+import com.portfolio.orders.entity.OrderEntity;
+import com.portfolio.orders.entity.OrderStatus;
+import com.portfolio.orders.repository.OrderRepository;
+import com.portfolio.orders.repository.OrderStatusCountRepository;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:orders-test;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create"
+})
+class OrderStatusCounterTest {
+
+    @Autowired
+    private OrderStatusCountRepository countRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OrderStatusCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new OrderStatusCounter(countRepository, orderRepository, transactionManager,
+            new OrderStatusCountProperties(4));
+        counter.createMissingSlots();
+    }
+
+    @Test
+    @DisplayName("startup creates every status slot once and writes never insert")
+    void createsSlotsUpFront() {
+        counter.createMissingSlots();
+        new OrderStatusCounter(countRepository, orderRepository, transactionManager, new OrderStatusCountProperties(6))
+            .createMissingSlots();
+
+        assertThat(countRepository.count()).isEqualTo(OrderStatus.values().length * 6L);
+        assertThat(countRepository.findAll()).allSatisfy(row -> assertThat(row.getOrderCount()).isZero());
+    }
+
+    @Test
+    @DisplayName("a write to a slot that does not exist fails instead of racing to insert it")
+    void failsOnMissingSlot() {
+        countRepository.deleteAllInBatch();
+
+        assertThatThrownBy(() -> counter.recordTransition(OrderStatus.PENDING, OrderStatus.CONFIRMED))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("does not exist");
+        assertThat(countRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("creations and transitions add up across slots")
+    void tracksCreationsAndTransitions() {
+        counter.recordCreated(List.of(order(OrderStatus.PENDING), order(OrderStatus.PENDING), order(OrderStatus.PENDING)));
+        counter.recordTransition(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        counter.recordTransition(OrderStatus.PENDING, OrderStatus.CANCELLED);
+        counter.recordTransition(OrderStatus.CONFIRMED, OrderStatus.SHIPPED);
+        counter.recordTransition(OrderStatus.SHIPPED, OrderStatus.SHIPPED);
+        counter.recordTransitions(List.of(OrderStatus.SHIPPED, OrderStatus.DELIVERED), OrderStatus.DELIVERED);
+
+        Map<OrderStatus, Long> snapshot = counter.snapshot();
+
+        assertThat(snapshot).containsEntry(OrderStatus.PENDING, 1L)
+            .containsEntry(OrderStatus.CONFIRMED, 0L)
+            .containsEntry(OrderStatus.SHIPPED, 0L)
+            .containsEntry(OrderStatus.DELIVERED, 1L)
+            .containsEntry(OrderStatus.CANCELLED, 1L);
+        assertThat(counter.count(OrderStatus.PENDING)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("reconcile folds drift against the orders table back into the counts")
+    void reconcileCorrectsDrift() {
+        orderRepository.saveAllAndFlush(List.of(order(OrderStatus.PENDING), order(OrderStatus.PENDING),
+            order(OrderStatus.DELIVERED)));
+        counter.recordCreated(List.of(order(OrderStatus.PENDING), order(OrderStatus.CANCELLED)));
+
+        Map<OrderStatus, Long> drift = counter.reconcile();
+
+        assertThat(drift).containsOnly(
+            Map.entry(OrderStatus.PENDING, 1L),
+            Map.entry(OrderStatus.DELIVERED, 1L),
+            Map.entry(OrderStatus.CANCELLED, -1L));
+        assertThat(counter.snapshot()).containsEntry(OrderStatus.PENDING, 2L)
+            .containsEntry(OrderStatus.DELIVERED, 1L)
+            .containsEntry(OrderStatus.CANCELLED, 0L);
+        assertThat(counter.reconcile()).isEmpty();
+    }
+
+    private OrderEntity order(OrderStatus status) {
+        return OrderEntity.builder()
+            .userId(UUID.randomUUID())
+            .status(status)
+            .currency("EUR")
+            .totalAmount(BigDecimal.TEN)
+            .createdAt(OffsetDateTime.now())
+            .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.portfolio.orders.service;
+
+import com.portfolio.orders.entity.PaymentDeadLetterEntity;
+import com.portfolio.orders.events.PaymentResultConsumerProperties;
+import com.portfolio.orders.generated.model.PaymentDeadLetterReplayResult;
+import com.portfolio.orders.metrics.OrdersMetrics;
+import com.portfolio.orders.repository.PaymentDeadLetterRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentDeadLetterServiceTest {
+
+    @Mock
+    private PaymentDeadLetterRepository repository;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PaymentDeadLetterService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PaymentDeadLetterService(repository, kafkaTemplate,
+            new PaymentResultConsumerProperties(null, null, null, 0, 0, null, null, 0), new OrdersMetrics(registry));
+    }
+
+    @Test
+    void republishesToThePaymentResultsTopicAndMarksOnlyAcknowledgedLetters() {
+        PaymentDeadLetterEntity sent = letter("{\"orderId\":\"a\"}");
+        PaymentDeadLetterEntity rejected = letter("{\"orderId\":\"b\"}");
+        when(repository.findByReplayedAtIsNullOrderByIdAsc(PageRequest.of(0, 2))).thenReturn(List.of(sent, rejected));
+        when(kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, byte[]>>any()))
+            .thenReturn(CompletableFuture.completedFuture(null))
+            .thenReturn(CompletableFuture.<SendResult<String, byte[]>>failedFuture(new KafkaException("broker down")));
+        when(repository.countByReplayedAtIsNull()).thenReturn(7L);
+
+        PaymentDeadLetterReplayResult result = service.replay(2);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, byte[]>> records = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(2)).send(records.capture());
+        assertThat(records.getAllValues()).allSatisfy(record -> assertThat(record.topic()).isEqualTo("payment-results"));
+        assertThat(new String(records.getAllValues().get(0).value(), StandardCharsets.UTF_8))
+            .isEqualTo(sent.getPayload());
+        assertThat(records.getAllValues().get(0).key()).isEqualTo(sent.getMessageKey());
+        verify(repository).markReplayed(eq(List.of(sent.getId())), any(OffsetDateTime.class));
+        assertThat(result.getReplayed()).isEqualTo(1);
+        assertThat(result.getRemaining()).isEqualTo(7L);
+        assertThat(registry.get("orders_payment_stage").tags("stage", "replay", "outcome", "published").counter()
+            .count()).isEqualTo(1);
+        assertThat(registry.get("orders_payment_stage").tags("stage", "replay", "outcome", "failed").counter()
+            .count()).isEqualTo(1);
+    }
+
+    @Test
+    void defaultsTheBatchSizeAndSkipsTheUpdateWhenNothingIsPending() {
+        when(repository.findByReplayedAtIsNullOrderByIdAsc(PageRequest.of(0, 500))).thenReturn(List.of());
+
+        PaymentDeadLetterReplayResult result = service.replay(null);
+
+        verify(repository, never()).markReplayed(anyCollection(), any());
+        assertThat(result.getReplayed()).isZero();
+        assertThat(result.getRemaining()).isZero();
+    }
+
+    private static PaymentDeadLetterEntity letter(String payload) {
+        UUID orderId = UUID.randomUUID();
+        return PaymentDeadLetterEntity.builder()
+            .id(UUID.randomUUID())
+            .orderId(orderId)
+            .messageKey(orderId.toString())
+            .payload(payload)
+            .sourceTopic("payment-results-recovery-retry-3")
+            .failedAt(OffsetDateTime.now())
+            .build();
+    }
+}
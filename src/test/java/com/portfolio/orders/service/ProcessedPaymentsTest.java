@@ -0,0 +1,100 @@
+package com.portfolio.orders.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.portfolio.orders.entity.ProcessedPaymentEntity;
+import com.portfolio.orders.repository.ProcessedPaymentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ProcessedPaymentsTest {
+
+    private final ProcessedPaymentRepository repository = mock(ProcessedPaymentRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProcessedPayments processedPayments = new ProcessedPayments(repository,
+        mock(PlatformTransactionManager.class), new ProcessedPaymentProperties(null, 0, 0, null), registry);
+
+    @BeforeEach
+    void startTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void endTransaction() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void answersCommittedPaymentsFromMemoryAndLooksUpTheRestOnce() {
+        UUID orderId = UUID.randomUUID();
+        processedPayments.record(Map.of("pay-1", orderId));
+        commit();
+        when(repository.findProcessedIds(Set.of("pay-2", "pay-3"))).thenReturn(List.of("pay-3"));
+
+        Set<String> processed = processedPayments.processed(Arrays.asList("pay-1", "pay-2", null, "pay-3", "pay-1"));
+
+        assertThat(processed).containsExactlyInAnyOrder("pay-1", "pay-3");
+        assertThat(lookups("memory_hit")).isEqualTo(1);
+        assertThat(lookups("database_hit")).isEqualTo(1);
+        assertThat(lookups("new")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotRememberPaymentsOfARolledBackTransaction() {
+        processedPayments.record("pay-1", UUID.randomUUID());
+        TransactionSynchronizationManager.clear();
+        when(repository.findProcessedIds(Set.of("pay-1"))).thenReturn(List.of());
+
+        assertThat(processedPayments.isProcessed("pay-1")).isFalse();
+        assertThat(lookups("new")).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void storesOnlyPaymentsWithAnId() {
+        UUID orderId = UUID.randomUUID();
+        Map<String, UUID> payments = new HashMap<>();
+        payments.put("pay-1", orderId);
+        payments.put(null, UUID.randomUUID());
+
+        processedPayments.record(payments);
+        processedPayments.record(null, orderId);
+
+        ArgumentCaptor<List<ProcessedPaymentEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(entity -> {
+            assertThat(entity.getPaymentId()).isEqualTo("pay-1");
+            assertThat(entity.getOrderId()).isEqualTo(orderId);
+            assertThat(entity.isNew()).isTrue();
+        });
+        assertThat(processedPayments.isProcessed(null)).isFalse();
+        verify(repository, never()).findProcessedIds(anyCollection());
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clear();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private double lookups(String result) {
+        return registry.get("orders_payment_dedup_lookups").tag("result", result).counter().count();
+    }
+}
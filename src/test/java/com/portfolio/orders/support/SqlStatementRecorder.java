@@ -0,0 +1,53 @@
+package com.portfolio.orders.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that records the SQL prepared on the thread that called {@link #start()}, so tests
+ * can assert how many statements a service call issues. Register it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    private static volatile Thread recordingThread;
+
+    public static void start() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+        recordingThread = Thread.currentThread();
+    }
+
+    public static List<String> stop() {
+        recordingThread = null;
+        synchronized (STATEMENTS) {
+            return List.copyOf(STATEMENTS);
+        }
+    }
+
+    public static long count(List<String> statements, String verb, String table) {
+        return statements.stream()
+            .map(sql -> sql.toLowerCase(Locale.ROOT))
+            .filter(sql -> sql.startsWith(verb))
+            .filter(sql -> referencesTable(sql, table))
+            .count();
+    }
+
+    private static boolean referencesTable(String sql, String table) {
+        return sql.matches("(?s).*\\b" + table + "\\b.*");
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (Thread.currentThread() == recordingThread) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql.strip());
+            }
+        }
+        return sql;
+    }
+}